@@ -35,6 +35,13 @@ public class BundleReader {
   /** The capacity for the internal char buffer. */
   protected static final int BUFFER_CAPACITY = 1024;
 
+  /**
+   * The maximum number of bytes that are allocated upfront for an element, based on its length
+   * prefix. Firestore documents are limited to 1 MiB, so this covers the JSON encoding of almost
+   * all elements, while a corrupt length prefix cannot trigger a huge allocation.
+   */
+  private static final int MAX_PREALLOCATED_ELEMENT_BYTES = 4 * 1024 * 1024;
+
   private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
 
   private final BundleSerializer serializer;
@@ -165,7 +172,11 @@ public class BundleReader {
    * <p>Returns an object containing the Json string and its UTF8 byte count.
    */
   private String readJsonString(int bytesToRead) throws IOException {
-    ByteArrayOutputStream jsonBytes = new ByteArrayOutputStream();
+    // Size the output for the whole element, so that large elements are not copied repeatedly
+    // (and held in memory several times over) while the stream grows.
+    ByteArrayOutputStream jsonBytes =
+        new ByteArrayOutputStream(
+            Math.max(0, Math.min(bytesToRead, MAX_PREALLOCATED_ELEMENT_BYTES)));
 
     // Read at least `bytesToRead` number of bytes from the bundle into `this.buffer`, pulling more
     // data if necessary.
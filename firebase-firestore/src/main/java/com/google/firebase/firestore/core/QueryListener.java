@@ -20,9 +20,6 @@ import androidx.annotation.Nullable;
 import com.google.firebase.firestore.EventListener;
 import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.firestore.ListenSource;
-import com.google.firebase.firestore.core.DocumentViewChange.Type;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * QueryListener takes a series of internal view snapshots and determines when to raise events.
@@ -82,23 +79,7 @@ public class QueryListener {
     boolean raisedEvent = false;
     if (!options.includeDocumentMetadataChanges) {
       // Remove the metadata only changes
-      List<DocumentViewChange> documentChanges = new ArrayList<>();
-      for (DocumentViewChange change : newSnapshot.getChanges()) {
-        if (change.getType() != Type.METADATA) {
-          documentChanges.add(change);
-        }
-      }
-      newSnapshot =
-          new ViewSnapshot(
-              newSnapshot.getQuery(),
-              newSnapshot.getDocuments(),
-              newSnapshot.getOldDocuments(),
-              documentChanges,
-              newSnapshot.isFromCache(),
-              newSnapshot.getMutatedKeys(),
-              newSnapshot.didSyncStateChange(),
-              /* excludesMetadataChanges= */ true,
-              newSnapshot.hasCachedResults());
+      newSnapshot = newSnapshot.withoutMetadataChanges();
     }
 
     if (!raisedInitialEvent) {
@@ -236,6 +236,20 @@ public class View {
       }
     }
 
+    // Documents in the local cache that are not part of this view lie beyond the old limit
+    // boundary, unless they are part of this change and have been considered above. If the limit
+    // is still full and its boundary did not move past the old one, no other document can belong
+    // in the results and the refill can be skipped.
+    if (needsRefill && newDocumentSet.size() == query.getLimit()) {
+      if (lastDocInLimit != null) {
+        needsRefill =
+            query.comparator().compare(newDocumentSet.getLastDocument(), lastDocInLimit) > 0;
+      } else if (firstDocInLimit != null) {
+        needsRefill =
+            query.comparator().compare(newDocumentSet.getFirstDocument(), firstDocInLimit) < 0;
+      }
+    }
+
     hardAssert(
         !needsRefill || previousChanges == null,
         "View was refilled using docs that themselves needed refilling.");
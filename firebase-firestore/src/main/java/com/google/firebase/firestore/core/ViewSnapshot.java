@@ -14,6 +14,7 @@
 
 package com.google.firebase.firestore.core;
 
+import androidx.annotation.Nullable;
 import com.google.firebase.database.collection.ImmutableSortedSet;
 import com.google.firebase.firestore.model.Document;
 import com.google.firebase.firestore.model.DocumentKey;
@@ -41,6 +42,9 @@ public class ViewSnapshot {
   private boolean excludesMetadataChanges;
   private boolean hasCachedResults;
 
+  // The result of withoutMetadataChanges(), which is shared by all listeners of the query.
+  @Nullable private ViewSnapshot withoutMetadataChanges;
+
   public ViewSnapshot(
       Query query,
       DocumentSet documents,
@@ -86,6 +90,36 @@ public class ViewSnapshot {
         hasCachedResults);
   }
 
+  /**
+   * Returns a view snapshot with all metadata-only changes removed, for listeners that did not opt
+   * into metadata changes. The result is computed once and shared between all such listeners.
+   */
+  public ViewSnapshot withoutMetadataChanges() {
+    if (excludesMetadataChanges) {
+      return this;
+    }
+    if (withoutMetadataChanges == null) {
+      List<DocumentViewChange> documentChanges = new ArrayList<>();
+      for (DocumentViewChange change : changes) {
+        if (change.getType() != DocumentViewChange.Type.METADATA) {
+          documentChanges.add(change);
+        }
+      }
+      withoutMetadataChanges =
+          new ViewSnapshot(
+              query,
+              documents,
+              oldDocuments,
+              documentChanges,
+              isFromCache,
+              mutatedKeys,
+              didSyncStateChange,
+              /* excludesMetadataChanges= */ true,
+              hasCachedResults);
+    }
+    return withoutMetadataChanges;
+  }
+
   public Query getQuery() {
     return query;
   }
@@ -257,9 +257,16 @@ public class OrderedCodeWriter {
     writeEscapedByteDescending(INFINITY);
   }
 
-  /** Resets the buffer such that it is the same as when it was newly constructed. */
+  /**
+   * Resets the buffer such that it is the same as when it was newly constructed. A buffer that grew
+   * past its default size to encode a large value is released, so that a long-lived writer does
+   * not hold on to it.
+   */
   public void reset() {
     position = 0;
+    if (buffer.length > DEFAULT_BUFFER_SIZE) {
+      buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
   }
 
   /** Makes a copy of the encoded bytes in this buffer. */
@@ -0,0 +1,141 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.local;
+
+import androidx.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded, least-recently-used cache whose entries are weighted by a size provided by the
+ * caller, usually the estimated heap size of a decoded value (see {@link
+ * #estimateDecodedHeapSize}).
+ *
+ * <p>This class is not thread-safe. Callers that share a cache across threads must synchronize on
+ * it.
+ */
+final class ByteWeightedLruCache<K, V> {
+  private static class Entry<V> {
+    final V value;
+    final int byteSize;
+
+    Entry(V value, int byteSize) {
+      this.value = value;
+      this.byteSize = byteSize;
+    }
+  }
+
+  /**
+   * A rough estimate of the heap retained by a decoded value per byte of its encoded form. Decoded
+   * documents and mutation batches are trees of proto message objects with Java string fields,
+   * which are several times larger than the wire format. The factor is a conservative guess based
+   * on that object layout, not a measurement; it only needs to keep the caches' heap use in the
+   * right order of magnitude.
+   */
+  private static final int DECODED_HEAP_BYTES_PER_ENCODED_BYTE = 4;
+
+  private final long maxByteSize;
+  private final LinkedHashMap<K, Entry<V>> entries =
+      new LinkedHashMap<>(
+          /* initialCapacity= */ 16, /* loadFactor= */ 0.75f, /* accessOrder= */ true);
+
+  private long byteSize = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  /**
+   * @param maxByteSize The maximum sum of the sizes of all entries, or {@code 0} to not cache
+   *     anything.
+   */
+  ByteWeightedLruCache(long maxByteSize) {
+    this.maxByteSize = maxByteSize;
+  }
+
+  /**
+   * Returns the estimated heap size of a value decoded from the given number of encoded bytes, to
+   * be used as the size of cached documents and mutation batches.
+   */
+  static int estimateDecodedHeapSize(int encodedByteSize) {
+    return (int)
+        Math.min((long) encodedByteSize * DECODED_HEAP_BYTES_PER_ENCODED_BYTE, Integer.MAX_VALUE);
+  }
+
+  /** Returns the cached value for the given key, or null if it is not cached. */
+  @Nullable
+  V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      ++missCount;
+      return null;
+    }
+    ++hitCount;
+    return entry.value;
+  }
+
+  /**
+   * Adds the given value to the cache, evicting the least recently used entries if the cache
+   * exceeds its maximum size. Any value previously cached for the key is removed, even if the new
+   * value is larger than the cache and is therefore not added.
+   *
+   * @param key The key of the value.
+   * @param value The value to cache.
+   * @param byteSize The size to weight the value by.
+   */
+  void put(K key, V value, int byteSize) {
+    remove(key);
+    if (maxByteSize == 0 || byteSize > maxByteSize) {
+      return;
+    }
+
+    entries.put(key, new Entry<>(value, byteSize));
+    this.byteSize += byteSize;
+
+    Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+    while (this.byteSize > maxByteSize && it.hasNext()) {
+      this.byteSize -= it.next().getValue().byteSize;
+      it.remove();
+    }
+  }
+
+  /** Removes the value for the given key from the cache. */
+  void remove(K key) {
+    Entry<V> previous = entries.remove(key);
+    if (previous != null) {
+      byteSize -= previous.byteSize;
+    }
+  }
+
+  /** Removes all values from the cache. */
+  void clear() {
+    entries.clear();
+    byteSize = 0;
+  }
+
+  /** Returns the sum of the sizes of all cached values. */
+  long getByteSize() {
+    return byteSize;
+  }
+
+  /** Returns the number of lookups that were served from the cache. */
+  long getHitCount() {
+    return hitCount;
+  }
+
+  /** Returns the number of lookups that were not served from the cache. */
+  long getMissCount() {
+    return missCount;
+  }
+}
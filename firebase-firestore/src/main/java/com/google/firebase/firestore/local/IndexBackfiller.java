@@ -35,6 +35,13 @@ public class IndexBackfiller {
   private static final long INITIAL_BACKFILL_DELAY_MS = TimeUnit.SECONDS.toMillis(15);
   /** Minimum amount of time between backfill checks, after the first one. */
   private static final long REGULAR_BACKFILL_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+  /**
+   * How long we wait before continuing a backfill that processed as many documents as it was
+   * allowed to, which indicates that more documents are waiting to be indexed. Running the next
+   * batch soon (rather than after the regular delay) lets a newly created index on a large cache
+   * converge in minutes, while each short batch still only briefly occupies the AsyncQueue.
+   */
+  private static final long FOLLOW_UP_BACKFILL_DELAY_MS = TimeUnit.SECONDS.toMillis(1);
   /** The maximum number of documents to process each time backfill() is called. */
   private static final int MAX_DOCUMENTS_TO_PROCESS = 50;
 
@@ -91,7 +98,10 @@ public class IndexBackfiller {
               () -> {
                 int documentsProcessed = backfill();
                 Logger.debug(LOG_TAG, "Documents written: %s", documentsProcessed);
-                scheduleBackfill(REGULAR_BACKFILL_DELAY_MS);
+                scheduleBackfill(
+                    documentsProcessed >= maxDocumentsToProcess
+                        ? FOLLOW_UP_BACKFILL_DELAY_MS
+                        : REGULAR_BACKFILL_DELAY_MS);
               });
     }
   }
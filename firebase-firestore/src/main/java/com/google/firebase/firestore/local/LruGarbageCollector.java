@@ -31,6 +31,12 @@ public class LruGarbageCollector {
   private static final long INITIAL_GC_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
   /** Minimum amount of time between GC checks, after the first one. */
   private static final long REGULAR_GC_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+  /**
+   * How long we wait before continuing a GC run that was capped at the maximum number of sequence
+   * numbers to collect. Splitting large collections into short slices lets other operations on
+   * the AsyncQueue run in between.
+   */
+  private static final long INCREMENTAL_GC_DELAY_MS = TimeUnit.SECONDS.toMillis(1);
 
   public static class Params {
     private static final long COLLECTION_DISABLED = FirebaseFirestoreSettings.CACHE_SIZE_UNLIMITED;
@@ -79,6 +85,7 @@ public class LruGarbageCollector {
     private final int sequenceNumbersCollected;
     private final int targetsRemoved;
     private final int documentsRemoved;
+    private final boolean hasRemainingGarbage;
 
     static Results DidNotRun() {
       return new Results(/* hasRun= */ false, 0, 0, 0);
@@ -86,10 +93,25 @@ public class LruGarbageCollector {
 
     Results(
         boolean hasRun, int sequenceNumbersCollected, int targetsRemoved, int documentsRemoved) {
+      this(
+          hasRun,
+          sequenceNumbersCollected,
+          targetsRemoved,
+          documentsRemoved,
+          /* hasRemainingGarbage= */ false);
+    }
+
+    Results(
+        boolean hasRun,
+        int sequenceNumbersCollected,
+        int targetsRemoved,
+        int documentsRemoved,
+        boolean hasRemainingGarbage) {
       this.hasRun = hasRun;
       this.sequenceNumbersCollected = sequenceNumbersCollected;
       this.targetsRemoved = targetsRemoved;
       this.documentsRemoved = documentsRemoved;
+      this.hasRemainingGarbage = hasRemainingGarbage;
     }
 
     public boolean hasRun() {
@@ -107,6 +129,15 @@ public class LruGarbageCollector {
     public int getDocumentsRemoved() {
       return documentsRemoved;
     }
+
+    /**
+     * Returns whether this run was capped at the maximum number of sequence numbers to collect and
+     * removed at least one target or document, which means that more targets and documents may be
+     * eligible for collection.
+     */
+    public boolean hasRemainingGarbage() {
+      return hasRemainingGarbage;
+    }
   }
 
   /**
@@ -139,15 +170,22 @@ public class LruGarbageCollector {
     }
 
     private void scheduleGC() {
-      long delay = hasRun ? REGULAR_GC_DELAY_MS : INITIAL_GC_DELAY_MS;
+      scheduleGC(hasRun ? REGULAR_GC_DELAY_MS : INITIAL_GC_DELAY_MS);
+    }
+
+    private void scheduleGC(long delay) {
       gcTask =
           asyncQueue.enqueueAfterDelay(
               AsyncQueue.TimerId.GARBAGE_COLLECTION,
               delay,
               () -> {
-                localStore.collectGarbage(LruGarbageCollector.this);
+                Results results = localStore.collectGarbage(LruGarbageCollector.this);
                 hasRun = true;
-                scheduleGC();
+                if (results.hasRemainingGarbage()) {
+                  scheduleGC(INCREMENTAL_GC_DELAY_MS);
+                } else {
+                  scheduleGC();
+                }
               });
     }
   }
@@ -253,15 +291,17 @@ public class LruGarbageCollector {
               + params.minBytesThreshold);
       return Results.DidNotRun();
     } else {
-      return runGarbageCollection(activeTargetIds);
+      return runGarbageCollection(activeTargetIds, cacheSize);
     }
   }
 
-  private Results runGarbageCollection(SparseArray<?> liveTargetIds) {
+  private Results runGarbageCollection(SparseArray<?> liveTargetIds, long cacheSizeBeforeRemovals) {
     long startTs = System.currentTimeMillis();
     int sequenceNumbers = calculateQueryCount(params.percentileToCollect);
-    // Cap at the configured max
+    boolean capped = false;
+    // Cap at the configured max. The remaining sequence numbers are collected in the next run.
     if (sequenceNumbers > params.maximumSequenceNumbersToCollect) {
+      capped = true;
       Logger.debug(
           "LruGarbageCollector",
           "Capping sequence numbers to collect down to the maximum of "
@@ -302,10 +342,22 @@ public class LruGarbageCollector {
               "\tRemoved %d documents in %dms\n",
               numDocumentsRemoved,
               (removedDocumentsTs - removedTargetsTs));
+      desc +=
+          String.format(
+              Locale.ROOT, "\tReclaimed %d bytes\n", cacheSizeBeforeRemovals - getByteSize());
       desc += String.format(Locale.ROOT, "Total Duration: %dms", (removedDocumentsTs - startTs));
       Logger.debug("LruGarbageCollector", desc);
     }
-    return new Results(/* hasRun= */ true, sequenceNumbers, numTargetsRemoved, numDocumentsRemoved);
+    // Only ask for a follow-up slice if this one made progress. If the capped range is made up of
+    // live targets or documents pinned by pending writes, a follow-up would find the same range
+    // and remove nothing again.
+    boolean hasRemainingGarbage = capped && numTargetsRemoved + numDocumentsRemoved > 0;
+    return new Results(
+        /* hasRun= */ true,
+        sequenceNumbers,
+        numTargetsRemoved,
+        numDocumentsRemoved,
+        hasRemainingGarbage);
   }
 
   long getByteSize() {
@@ -26,9 +26,11 @@ import com.google.firebase.firestore.model.Document;
 import com.google.firebase.firestore.model.DocumentKey;
 import com.google.firebase.firestore.model.FieldIndex;
 import com.google.firebase.firestore.model.FieldIndex.IndexOffset;
+import com.google.firebase.firestore.model.ResourcePath;
 import com.google.firebase.firestore.model.SnapshotVersion;
 import com.google.firebase.firestore.util.Logger;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -48,7 +50,12 @@ import javax.annotation.Nullable;
  * <p>Index-based execution is the default when available. The query engine supports partial indexed
  * execution and merges the result from the index lookup with documents that have not yet been
  * indexed. The index evaluation matches the backend's format and as such, the SDK can use indexing
- * for all queries that the backend supports.
+ * for all queries that the backend supports. If a previous full collection scan showed that reading
+ * the documents returned by an index would be more expensive than scanning the collection, the
+ * collection is scanned instead. These collection sizes are only refreshed by full scans and are
+ * kept for a bounded number of recently scanned collections, so a collection that grew since its
+ * last scan may be scanned once more before its estimate catches up. Collections without an
+ * estimate always use their index.
  *
  * <p>If no index exists, the query engine tries to take advantage of the target document mapping in
  * the TargetCache. These mappings exists for all queries that have been synced with the backend at
@@ -82,6 +89,25 @@ public class QueryEngine {
 
   private double relativeIndexReadCostPerDocument = DEFAULT_RELATIVE_INDEX_READ_COST_PER_DOCUMENT;
 
+  /** The maximum number of collections for which a size estimate is kept. */
+  @VisibleForTesting static final int MAX_COLLECTION_SIZE_ESTIMATES = 100;
+
+  /**
+   * The number of documents that the most recent full collection scan of each collection read.
+   * These estimates are used to fall back to a collection scan when reading the documents returned
+   * by an index is expected to be more expensive than scanning the whole collection. Only the most
+   * recently scanned collections are kept, since apps with per-parent subcollections can scan an
+   * unbounded number of collection paths.
+   */
+  private final Map<ResourcePath, Integer> collectionSizeEstimates =
+      new LinkedHashMap<ResourcePath, Integer>(
+          /* initialCapacity= */ 16, /* loadFactor= */ 0.75f, /* accessOrder= */ true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ResourcePath, Integer> eldest) {
+          return size() > MAX_COLLECTION_SIZE_ESTIMATES;
+        }
+      };
+
   public void initialize(LocalDocumentsView localDocumentsView, IndexManager indexManager) {
     this.localDocumentsView = localDocumentsView;
     this.indexManager = indexManager;
@@ -110,6 +136,9 @@ public class QueryEngine {
 
     QueryContext context = new QueryContext();
     result = executeFullCollectionScan(query, context);
+    if (!query.isCollectionGroupQuery()) {
+      collectionSizeEstimates.put(query.getPath(), context.getDocumentReadCount());
+    }
     if (result != null && indexAutoCreationEnabled) {
       createCacheIndexes(query, context, result.size());
     }
@@ -179,6 +208,16 @@ public class QueryEngine {
     List<DocumentKey> keys = indexManager.getDocumentsMatchingTarget(target);
     hardAssert(keys != null, "index manager must return results for partial and full indexes.");
 
+    if (isIndexLookupMoreExpensiveThanScan(query, keys.size())) {
+      Logger.debug(
+          LOG_TAG,
+          "The SDK will not use cache indexes for query: %s, since reading the %s indexed "
+              + "documents is estimated to be more expensive than a full collection scan.",
+          query.toString(),
+          keys.size());
+      return null;
+    }
+
     ImmutableSortedMap<DocumentKey, Document> indexedDocuments =
         localDocumentsView.getDocuments(keys);
     IndexOffset offset = indexManager.getMinOffset(target);
@@ -195,6 +234,33 @@ public class QueryEngine {
     return appendRemainingResults(previousResults, query, offset);
   }
 
+  /**
+   * Returns whether reading the documents that an index returned for {@code query} is estimated to
+   * be more expensive than scanning the query's collection, based on the size of the collection at
+   * its last full scan. Always returns {@code false} if the collection has not been scanned yet.
+   */
+  private boolean isIndexLookupMoreExpensiveThanScan(Query query, int indexedDocumentCount) {
+    if (query.isCollectionGroupQuery()) {
+      return false;
+    }
+
+    Integer collectionSize = collectionSizeEstimates.get(query.getPath());
+    if (collectionSize == null) {
+      return false;
+    }
+
+    double indexLookupCost = relativeIndexReadCostPerDocument * indexedDocumentCount;
+    if (Logger.isDebugEnabled()) {
+      Logger.debug(
+          LOG_TAG,
+          "Query: %s, estimated index lookup cost: %s, estimated collection scan cost: %s",
+          query.toString(),
+          indexLookupCost,
+          collectionSize);
+    }
+    return indexLookupCost > collectionSize;
+  }
+
   /**
    * Performs a query based on the target's persisted query mapping. Returns {@code null} if the
    * mapping is not available or cannot be used.
@@ -19,6 +19,7 @@ import static com.google.firebase.firestore.util.Assert.hardAssert;
 import static com.google.firebase.firestore.util.Preconditions.checkNotNull;
 
 import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.Nullable;
 import com.google.firebase.firestore.auth.User;
 import com.google.firebase.firestore.model.DocumentKey;
@@ -107,14 +108,13 @@ public class SQLiteDocumentOverlayCache implements DocumentOverlayCache {
     }
   }
 
-  private void saveOverlay(int largestBatchId, DocumentKey key, Mutation mutation) {
+  private void saveOverlay(
+      SQLiteStatement overlayInserter, int largestBatchId, DocumentKey key, Mutation mutation) {
     String group = key.getCollectionGroup();
     String collectionPath = EncodedPath.encode(key.getPath().popLast());
     String documentId = key.getPath().getLastSegment();
     db.execute(
-        "INSERT OR REPLACE INTO document_overlays "
-            + "(uid, collection_group, collection_path, document_id, largest_batch_id, overlay_mutation) "
-            + "VALUES (?, ?, ?, ?, ?, ?)",
+        overlayInserter,
         uid,
         group,
         collectionPath,
@@ -125,10 +125,20 @@ public class SQLiteDocumentOverlayCache implements DocumentOverlayCache {
 
   @Override
   public void saveOverlays(int largestBatchId, Map<DocumentKey, Mutation> overlays) {
+    if (overlays.isEmpty()) {
+      return;
+    }
+
+    SQLiteStatement overlayInserter =
+        db.prepare(
+            "INSERT OR REPLACE INTO document_overlays "
+                + "(uid, collection_group, collection_path, document_id, largest_batch_id, "
+                + "overlay_mutation) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
     for (Map.Entry<DocumentKey, Mutation> entry : overlays.entrySet()) {
       DocumentKey key = entry.getKey();
       Mutation overlay = checkNotNull(entry.getValue(), "null value for key: %s", key);
-      saveOverlay(largestBatchId, key, overlay);
+      saveOverlay(overlayInserter, largestBatchId, key, overlay);
     }
   }
 
@@ -104,6 +104,13 @@ final class SQLiteIndexManager implements IndexManager {
             return sequenceCmp;
           });
 
+  /**
+   * The encoder used to compute single index values. Encoders allocate a sizeable buffer, so this
+   * one is reset and reused rather than recreated for every document, index and array element. The
+   * encoded bytes are always copied out of it before it is used again.
+   */
+  private final IndexByteEncoder reusableEncoder = new IndexByteEncoder();
+
   private boolean started = false;
   private int memoizedMaxIndexId = -1;
   private long memoizedMaxSequenceNumber = -1;
@@ -708,7 +715,8 @@ final class SQLiteIndexManager implements IndexManager {
    * null} if the document does not have all fields specified in the index.
    */
   private @Nullable byte[] encodeDirectionalElements(FieldIndex fieldIndex, Document document) {
-    IndexByteEncoder encoder = new IndexByteEncoder();
+    IndexByteEncoder encoder = reusableEncoder;
+    encoder.reset();
     for (FieldIndex.Segment segment : fieldIndex.getDirectionalSegments()) {
       Value field = document.getField(segment.getFieldPath());
       if (field == null) {
@@ -722,7 +730,8 @@ final class SQLiteIndexManager implements IndexManager {
 
   /** Encodes a single value to the ascending index format. */
   private byte[] encodeSingleElement(Value value) {
-    IndexByteEncoder encoder = new IndexByteEncoder();
+    IndexByteEncoder encoder = reusableEncoder;
+    encoder.reset();
     FirestoreIndexValueWriter.INSTANCE.writeIndexValue(
         value, encoder.forKind(FieldIndex.Segment.Kind.ASCENDING));
     return encoder.getEncodedBytes();
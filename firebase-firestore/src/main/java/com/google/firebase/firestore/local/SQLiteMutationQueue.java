@@ -21,6 +21,7 @@ import static com.google.firebase.firestore.util.Preconditions.checkNotNull;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.auth.User;
 import com.google.firebase.firestore.core.Query;
@@ -56,10 +57,23 @@ final class SQLiteMutationQueue implements MutationQueue {
    */
   private static final int BLOB_MAX_INLINE_LENGTH = 1000000;
 
+  /** The maximum estimated heap size of the mutation batches that are kept decoded in memory. */
+  @VisibleForTesting static final long DECODED_BATCH_CACHE_SIZE_BYTES = 1024 * 1024;
+
   private final SQLitePersistence db;
   private final LocalSerializer serializer;
   private final IndexManager indexManager;
 
+  /**
+   * Pending batches are decoded again every time their documents' overlays are recalculated and
+   * whenever they are sent to the backend. Since batches never change once written, decoded
+   * batches are kept until they are removed from the queue. The cache is only consulted for batch
+   * IDs that were just read from the database, so batches whose writes were rolled back are never
+   * returned. Batches are immutable, so they are handed out without copying.
+   */
+  private final ByteWeightedLruCache<Integer, MutationBatch> decodedBatchCache =
+      new ByteWeightedLruCache<>(DECODED_BATCH_CACHE_SIZE_BYTES);
+
   /** The normalized uid (for example, null => "") used in the uid column. */
   private final String uid;
 
@@ -403,6 +417,7 @@ final class SQLiteMutationQueue implements MutationQueue {
         db.prepare("DELETE FROM document_mutations WHERE uid = ? AND path = ? AND batch_id = ?");
 
     int batchId = batch.getBatchId();
+    decodedBatchCache.remove(batchId);
     int deleted = db.execute(mutationDeleter, uid, batchId);
     hardAssert(deleted != 0, "Mutation batch (%s, %d) did not exist", uid, batch.getBatchId());
 
@@ -447,10 +462,19 @@ final class SQLiteMutationQueue implements MutationQueue {
    *     SUBSTR(mutations, 1, BLOB_MAX_INLINE_LENGTH).
    */
   private MutationBatch decodeInlineMutationBatch(int batchId, byte[] bytes) {
+    MutationBatch cached = decodedBatchCache.get(batchId);
+    if (cached != null) {
+      return cached;
+    }
+
     try {
       if (bytes.length < BLOB_MAX_INLINE_LENGTH) {
-        return serializer.decodeMutationBatch(
-            com.google.firebase.firestore.proto.WriteBatch.parseFrom(bytes));
+        MutationBatch batch =
+            serializer.decodeMutationBatch(
+                com.google.firebase.firestore.proto.WriteBatch.parseFrom(bytes));
+        decodedBatchCache.put(
+            batchId, batch, ByteWeightedLruCache.estimateDecodedHeapSize(bytes.length));
+        return batch;
       }
 
       BlobAccumulator accumulator = new BlobAccumulator(bytes);
@@ -466,13 +490,22 @@ final class SQLiteMutationQueue implements MutationQueue {
       }
 
       ByteString blob = accumulator.result();
-      return serializer.decodeMutationBatch(
-          com.google.firebase.firestore.proto.WriteBatch.parseFrom(blob));
+      MutationBatch batch =
+          serializer.decodeMutationBatch(
+              com.google.firebase.firestore.proto.WriteBatch.parseFrom(blob));
+      decodedBatchCache.put(
+          batchId, batch, ByteWeightedLruCache.estimateDecodedHeapSize(blob.size()));
+      return batch;
     } catch (InvalidProtocolBufferException e) {
       throw fail("MutationBatch failed to parse: %s", e);
     }
   }
 
+  @VisibleForTesting
+  ByteWeightedLruCache<Integer, MutationBatch> getDecodedBatchCache() {
+    return decodedBatchCache;
+  }
+
   /**
    * Explicit consumer of blob chunks, accumulating the chunks and wrapping them in a single
    * ByteString. Accepts a Cursor whose results include the blob in column 0.
@@ -102,7 +102,9 @@ public final class SQLitePersistence extends Persistence {
         }
 
         @Override
-        public void onRollback() {}
+        public void onRollback() {
+          remoteDocumentCache.onTransactionRolledBack();
+        }
       };
 
   private SQLiteDatabase db;
@@ -126,7 +128,11 @@ public final class SQLitePersistence extends Persistence {
     this.serializer = serializer;
     this.targetCache = new SQLiteTargetCache(this, this.serializer);
     this.bundleCache = new SQLiteBundleCache(this, this.serializer);
-    this.remoteDocumentCache = new SQLiteRemoteDocumentCache(this, this.serializer);
+    this.remoteDocumentCache =
+        new SQLiteRemoteDocumentCache(
+            this,
+            this.serializer,
+            SQLiteRemoteDocumentCache.DEFAULT_DECODED_DOCUMENT_CACHE_SIZE_BYTES);
     this.referenceDelegate = new SQLiteLruReferenceDelegate(this, params);
   }
 
@@ -255,8 +261,13 @@ public final class SQLitePersistence extends Persistence {
     }
   }
 
+  /**
+   * Returns the number of bytes used by the database. Pages on the freelist are excluded, as SQLite
+   * does not shrink the database file when rows are deleted but reuses these pages for new data.
+   * Counting them would make the cache appear full after documents have already been collected.
+   */
   long getByteSize() {
-    return getPageCount() * getPageSize();
+    return (getPageCount() - getFreelistCount()) * getPageSize();
   }
 
   /**
@@ -278,6 +289,15 @@ public final class SQLitePersistence extends Persistence {
     return query("PRAGMA page_count").firstValue(row -> row.getLong(/*column=*/ 0));
   }
 
+  /**
+   * Gets the number of unused pages in the database file.
+   *
+   * @see "https://www.sqlite.org/pragma.html#pragma_freelist_count."
+   */
+  private long getFreelistCount() {
+    return query("PRAGMA freelist_count").firstValue(row -> row.getLong(/*column=*/ 0));
+  }
+
   /**
    * A SQLiteOpenHelper that configures database connections just the way we like them, delegating
    * to SQLiteSchema to actually do the work of migration.
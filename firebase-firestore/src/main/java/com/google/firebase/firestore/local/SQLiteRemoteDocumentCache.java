@@ -51,13 +51,41 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
   /** The number of bind args per collection group in {@link #getAll(String, IndexOffset, int)} */
   @VisibleForTesting static final int BINDS_PER_STATEMENT = 9;
 
+  /**
+   * The number of rows that are decoded together by a single background task. Batching amortizes
+   * the cost of scheduling a task and of merging its results across many documents.
+   */
+  @VisibleForTesting static final int DECODE_BATCH_SIZE = 64;
+
+  /**
+   * The default heap budget for documents that are kept decoded in memory for point lookups. Pass
+   * {@code 0} to the constructor to disable the cache.
+   */
+  static final long DEFAULT_DECODED_DOCUMENT_CACHE_SIZE_BYTES = 2 * 1024 * 1024;
+
   private final SQLitePersistence db;
   private final LocalSerializer serializer;
+
+  /**
+   * Decoded documents for point lookups. Documents are decoded on background threads, so all
+   * accesses synchronize on the cache. Since callers are free to modify the documents they
+   * receive, the cache only ever stores and hands out copies.
+   */
+  private final ByteWeightedLruCache<DocumentKey, MutableDocument> decodedDocumentCache;
+
   private IndexManager indexManager;
 
-  SQLiteRemoteDocumentCache(SQLitePersistence persistence, LocalSerializer serializer) {
+  /**
+   * @param decodedDocumentCacheSizeBytes The estimated heap size of the decoded documents that are
+   *     kept in memory for point lookups, or {@code 0} to not keep any.
+   */
+  SQLiteRemoteDocumentCache(
+      SQLitePersistence persistence,
+      LocalSerializer serializer,
+      long decodedDocumentCacheSizeBytes) {
     this.db = persistence;
     this.serializer = serializer;
+    this.decodedDocumentCache = new ByteWeightedLruCache<>(decodedDocumentCacheSizeBytes);
   }
 
   @Override
@@ -84,6 +112,9 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
         timestamp.getSeconds(),
         timestamp.getNanoseconds(),
         message.toByteArray());
+    synchronized (decodedDocumentCache) {
+      decodedDocumentCache.remove(documentKey);
+    }
 
     indexManager.addToCollectionParentIndex(document.getKey().getCollectionPath());
   }
@@ -95,10 +126,13 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
     List<Object> encodedPaths = new ArrayList<>();
     ImmutableSortedMap<DocumentKey, Document> deletedDocs = emptyDocumentMap();
 
-    for (DocumentKey key : keys) {
-      encodedPaths.add(EncodedPath.encode(key.getPath()));
-      deletedDocs =
-          deletedDocs.insert(key, MutableDocument.newNoDocument(key, SnapshotVersion.NONE));
+    synchronized (decodedDocumentCache) {
+      for (DocumentKey key : keys) {
+        encodedPaths.add(EncodedPath.encode(key.getPath()));
+        decodedDocumentCache.remove(key);
+        deletedDocs =
+            deletedDocs.insert(key, MutableDocument.newNoDocument(key, SnapshotVersion.NONE));
+      }
     }
 
     SQLitePersistence.LongQuery longQuery =
@@ -120,12 +154,24 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
   public Map<DocumentKey, MutableDocument> getAll(Iterable<DocumentKey> documentKeys) {
     Map<DocumentKey, MutableDocument> results = new HashMap<>();
     List<Object> bindVars = new ArrayList<>();
-    for (DocumentKey key : documentKeys) {
-      bindVars.add(EncodedPath.encode(key.getPath()));
+    synchronized (decodedDocumentCache) {
+      for (DocumentKey key : documentKeys) {
+        MutableDocument cachedDocument = decodedDocumentCache.get(key);
+        if (cachedDocument != null) {
+          results.put(key, cachedDocument.mutableCopy());
+          continue;
+        }
+
+        bindVars.add(EncodedPath.encode(key.getPath()));
+
+        // Make sure each key has a corresponding entry, which is null in case the document is not
+        // found.
+        results.put(key, MutableDocument.newInvalidDocument(key));
+      }
+    }
 
-      // Make sure each key has a corresponding entry, which is null in case the document is not
-      // found.
-      results.put(key, MutableDocument.newInvalidDocument(key));
+    if (bindVars.isEmpty()) {
+      return results;
     }
 
     SQLitePersistence.LongQuery longQuery =
@@ -136,13 +182,12 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
             bindVars,
             ") ORDER BY path");
 
-    BackgroundQueue backgroundQueue = new BackgroundQueue();
+    DocumentDecoder decoder =
+        new DocumentDecoder(results, /*filter*/ null, /*populateDecodedDocumentCache*/ true);
     while (longQuery.hasMoreSubqueries()) {
-      longQuery
-          .performNextSubquery()
-          .forEach(row -> processRowInBackground(backgroundQueue, results, row, /*filter*/ null));
+      longQuery.performNextSubquery().forEach(decoder::addRow);
     }
-    backgroundQueue.drain();
+    decoder.drain();
     return results;
   }
 
@@ -187,6 +232,9 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
     Timestamp readTime = offset.getReadTime().getTimestamp();
     DocumentKey documentKey = offset.getDocumentKey();
 
+    // Each subquery scans a disjoint range of paths, so their results can be concatenated with
+    // UNION ALL. A plain UNION would make SQLite de-duplicate all rows in a temporary b-tree before
+    // sorting, which is expensive for collection groups with many parents.
     StringBuilder sql =
         repeatSequence(
             "SELECT contents, read_time_seconds, read_time_nanos, path "
@@ -196,7 +244,7 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
                 + "read_time_seconds = ? AND read_time_nanos > ?) OR ( "
                 + "read_time_seconds = ? AND read_time_nanos = ? and path > ?)) ",
             collections.size(),
-            " UNION ");
+            " UNION ALL ");
     sql.append("ORDER BY read_time_seconds, read_time_nanos, path LIMIT ?");
 
     Object[] bindVars = new Object[BINDS_PER_STATEMENT * collections.size() + 1];
@@ -215,18 +263,19 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
     }
     bindVars[i] = count;
 
-    BackgroundQueue backgroundQueue = new BackgroundQueue();
     Map<DocumentKey, MutableDocument> results = new HashMap<>();
+    DocumentDecoder decoder =
+        new DocumentDecoder(results, filter, /*populateDecodedDocumentCache*/ false);
     db.query(sql.toString())
         .binding(bindVars)
         .forEach(
             row -> {
-              processRowInBackground(backgroundQueue, results, row, filter);
+              decoder.addRow(row);
               if (context != null) {
                 context.incrementDocumentReadCount();
               }
             });
-    backgroundQueue.drain();
+    decoder.drain();
     return results;
   }
 
@@ -238,28 +287,96 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
     return getAll(collections, offset, count, filter, /*context*/ null);
   }
 
-  private void processRowInBackground(
-      BackgroundQueue backgroundQueue,
-      Map<DocumentKey, MutableDocument> results,
-      Cursor row,
-      @Nullable Function<MutableDocument, Boolean> filter) {
-    byte[] rawDocument = row.getBlob(0);
-    int readTimeSeconds = row.getInt(1);
-    int readTimeNanos = row.getInt(2);
-
-    // Since scheduling background tasks incurs overhead, we only dispatch to a
-    // background thread if there are still some documents remaining.
-    Executor executor = row.isLast() ? Executors.DIRECT_EXECUTOR : backgroundQueue;
-    executor.execute(
-        () -> {
-          MutableDocument document =
-              decodeMaybeDocument(rawDocument, readTimeSeconds, readTimeNanos);
-          if (filter == null || filter.apply(document)) {
+  /**
+   * Decodes the rows of a cursor in batches of {@link #DECODE_BATCH_SIZE} on a {@link
+   * BackgroundQueue}. Each batch decodes into its own buffer, which is merged into the shared
+   * result map once the batch completes. Decoded documents can optionally be added to the decoded
+   * document cache, which should only be done for point lookups so that collection scans do not
+   * evict frequently read documents.
+   *
+   * <p>This class is not thread-safe. `addRow()` and `drain()` must be called from the thread that
+   * iterates the cursor.
+   */
+  private class DocumentDecoder {
+    private final BackgroundQueue backgroundQueue = new BackgroundQueue();
+    private final Map<DocumentKey, MutableDocument> results;
+    @Nullable private final Function<MutableDocument, Boolean> filter;
+    private final boolean populateDecodedDocumentCache;
+
+    private List<byte[]> pendingContents = new ArrayList<>(DECODE_BATCH_SIZE);
+    private int[] pendingReadTimeSeconds = new int[DECODE_BATCH_SIZE];
+    private int[] pendingReadTimeNanos = new int[DECODE_BATCH_SIZE];
+
+    DocumentDecoder(
+        Map<DocumentKey, MutableDocument> results,
+        @Nullable Function<MutableDocument, Boolean> filter,
+        boolean populateDecodedDocumentCache) {
+      this.results = results;
+      this.filter = filter;
+      this.populateDecodedDocumentCache = populateDecodedDocumentCache;
+    }
+
+    /** Buffers the document in the current row and schedules a batch once it is full. */
+    void addRow(Cursor row) {
+      int index = pendingContents.size();
+      pendingContents.add(row.getBlob(0));
+      pendingReadTimeSeconds[index] = row.getInt(1);
+      pendingReadTimeNanos[index] = row.getInt(2);
+
+      if (pendingContents.size() == DECODE_BATCH_SIZE) {
+        // Since scheduling background tasks incurs overhead, we decode the final batch of a
+        // cursor on the current thread.
+        flush(row.isLast() ? Executors.DIRECT_EXECUTOR : backgroundQueue);
+      }
+    }
+
+    /** Decodes all remaining rows and waits for all scheduled batches to complete. */
+    void drain() {
+      if (!pendingContents.isEmpty()) {
+        flush(Executors.DIRECT_EXECUTOR);
+      }
+      backgroundQueue.drain();
+    }
+
+    private void flush(Executor executor) {
+      List<byte[]> contents = pendingContents;
+      int[] readTimeSeconds = pendingReadTimeSeconds;
+      int[] readTimeNanos = pendingReadTimeNanos;
+      pendingContents = new ArrayList<>(DECODE_BATCH_SIZE);
+      pendingReadTimeSeconds = new int[DECODE_BATCH_SIZE];
+      pendingReadTimeNanos = new int[DECODE_BATCH_SIZE];
+
+      executor.execute(
+          () -> {
+            Map<DocumentKey, MutableDocument> batchResults = new HashMap<>();
+            List<MutableDocument> decodedDocuments = new ArrayList<>(contents.size());
+            int[] heapSizes = new int[contents.size()];
+            for (int i = 0; i < contents.size(); ++i) {
+              byte[] rawDocument = contents.get(i);
+              MutableDocument document =
+                  decodeMaybeDocument(rawDocument, readTimeSeconds[i], readTimeNanos[i]);
+              if (populateDecodedDocumentCache) {
+                heapSizes[decodedDocuments.size()] =
+                    ByteWeightedLruCache.estimateDecodedHeapSize(rawDocument.length);
+                decodedDocuments.add(document.mutableCopy());
+              }
+              if (filter == null || filter.apply(document)) {
+                batchResults.put(document.getKey(), document);
+              }
+            }
+            if (!decodedDocuments.isEmpty()) {
+              synchronized (decodedDocumentCache) {
+                for (int i = 0; i < decodedDocuments.size(); ++i) {
+                  MutableDocument document = decodedDocuments.get(i);
+                  decodedDocumentCache.put(document.getKey(), document, heapSizes[i]);
+                }
+              }
+            }
             synchronized (results) {
-              results.put(document.getKey(), document);
+              results.putAll(batchResults);
             }
-          }
-        });
+          });
+    }
   }
 
   @Override
@@ -282,6 +399,21 @@ final class SQLiteRemoteDocumentCache implements RemoteDocumentCache {
         context);
   }
 
+  /**
+   * Drops all decoded documents. Called when a transaction is rolled back, since documents that
+   * were decoded during the transaction may no longer match the persisted state.
+   */
+  void onTransactionRolledBack() {
+    synchronized (decodedDocumentCache) {
+      decodedDocumentCache.clear();
+    }
+  }
+
+  @VisibleForTesting
+  ByteWeightedLruCache<DocumentKey, MutableDocument> getDecodedDocumentCache() {
+    return decodedDocumentCache;
+  }
+
   private MutableDocument decodeMaybeDocument(
       byte[] bytes, int readTimeSeconds, int readTimeNanos) {
     try {
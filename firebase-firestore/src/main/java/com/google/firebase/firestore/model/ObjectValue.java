@@ -121,10 +121,15 @@ public final class ObjectValue implements Cloneable {
    * Returns the Protobuf that backs this ObjectValue.
    *
    * <p>This method applies any outstanding modifications and memoizes the result. Further
-   * invocations are based on this memoized result.
+   * invocations are based on this memoized result. Documents that were read from the cache and
+   * never modified have no outstanding modifications, in which case the existing proto is returned
+   * without copying any of its fields.
    */
   private Value buildProto() {
     synchronized (overlayMap) {
+      if (overlayMap.isEmpty()) {
+        return partialValue;
+      }
       MapValue mergedResult = applyOverlay(FieldPath.EMPTY_PATH, overlayMap);
       if (mergedResult != null) {
         partialValue = Value.newBuilder().setMapValue(mergedResult).build();
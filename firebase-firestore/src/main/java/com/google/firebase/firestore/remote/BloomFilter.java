@@ -23,7 +23,9 @@ import java.security.NoSuchAlgorithmException;
 
 public final class BloomFilter {
   private final int bitCount;
-  private final ByteString bitmap;
+  // The bitmap is copied into an array since membership checks read it once per hash function for
+  // every candidate key, and ByteString.byteAt() is a virtual, bounds-checked call.
+  private final byte[] bitmap;
   private final int hashCount;
   private final MessageDigest md5HashMessageDigest;
 
@@ -53,7 +55,7 @@ public final class BloomFilter {
           "Expected padding of 0 when bitmap length is 0, but got " + padding);
     }
 
-    this.bitmap = bitmap;
+    this.bitmap = bitmap.toByteArray();
     this.hashCount = hashCount;
     this.bitCount = bitmap.size() * 8 - padding;
     this.md5HashMessageDigest = createMd5HashMessageDigest();
@@ -184,7 +186,7 @@ public final class BloomFilter {
   /** Return whether the bit at the given index in the bitmap is set to 1. */
   private boolean isBitSet(int index) {
     // To retrieve bit n, calculate: (bitmap[n / 8] & (0x01 << (n % 8))).
-    byte byteAtIndex = this.bitmap.byteAt(index / 8);
+    byte byteAtIndex = this.bitmap[index / 8];
     int offset = index % 8;
     return (byteAtIndex & (0x01 << offset)) != 0;
   }
@@ -197,7 +199,7 @@ public final class BloomFilter {
         + ", size="
         + bitCount
         + ", bitmap=\""
-        + Base64.encodeToString(bitmap.toByteArray(), Base64.NO_WRAP)
+        + Base64.encodeToString(bitmap, Base64.NO_WRAP)
         + "\"}";
   }
 }
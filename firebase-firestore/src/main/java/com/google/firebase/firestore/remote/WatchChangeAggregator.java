@@ -298,17 +298,20 @@ public class WatchChangeAggregator {
   private int filterRemovedDocuments(BloomFilter bloomFilter, int targetId) {
     ImmutableSortedSet<DocumentKey> existingKeys =
         targetMetadataProvider.getRemoteKeysForTarget(targetId);
+    DatabaseId databaseId = targetMetadataProvider.getDatabaseId();
+    String rootPath =
+        "projects/"
+            + databaseId.getProjectId()
+            + "/databases/"
+            + databaseId.getDatabaseId()
+            + "/documents/";
+    // Reuse a single builder for all document paths, since targets can contain many keys.
+    StringBuilder documentPath = new StringBuilder(rootPath);
     int removalCount = 0;
     for (DocumentKey key : existingKeys) {
-      DatabaseId databaseId = targetMetadataProvider.getDatabaseId();
-      String documentPath =
-          "projects/"
-              + databaseId.getProjectId()
-              + "/databases/"
-              + databaseId.getDatabaseId()
-              + "/documents/"
-              + key.getPath().canonicalString();
-      if (!bloomFilter.mightContain(documentPath)) {
+      documentPath.setLength(rootPath.length());
+      documentPath.append(key.getPath().canonicalString());
+      if (!bloomFilter.mightContain(documentPath.toString())) {
         this.removeDocumentFromTarget(targetId, key, /*updatedDocument=*/ null);
         removalCount++;
       }
@@ -85,7 +85,16 @@ public class AsyncQueue {
     CONNECTIVITY_ATTEMPT_TIMER,
 
     /** A timer used to periodically attempt index backfill. */
-    INDEX_BACKFILL
+    INDEX_BACKFILL;
+
+    /**
+     * Returns whether tasks for this timer perform background maintenance that should give way to
+     * user-visible work (such as listener events and write acknowledgements) that is already
+     * waiting on the queue when the timer fires.
+     */
+    boolean isBackgroundMaintenance() {
+      return this == GARBAGE_COLLECTION || this == INDEX_BACKFILL;
+    }
   }
 
   /**
@@ -102,6 +111,9 @@ public class AsyncQueue {
     // The ScheduledFuture returned by executor.schedule(). It is set to null after the task has
     // been run or canceled.
     private ScheduledFuture scheduledFuture;
+    // Whether the task has already been moved to the back of the queue once after its delay
+    // elapsed. See handleDelayElapsed().
+    private boolean yielded;
 
     private DelayedTask(TimerId timerId, long targetTimeMs, Runnable task) {
       this.timerId = timerId;
@@ -119,7 +131,8 @@ public class AsyncQueue {
 
     /** Runs the operation immediately (if it hasn't already been run or canceled). */
     void skipDelay() {
-      handleDelayElapsed();
+      verifyIsCurrentThread();
+      runIfPending();
     }
 
     /**
@@ -140,6 +153,23 @@ public class AsyncQueue {
 
     private void handleDelayElapsed() {
       verifyIsCurrentThread();
+      if (scheduledFuture != null && timerId.isBackgroundMaintenance() && !yielded) {
+        // The executor orders tasks by trigger time, so work enqueued before this task's target
+        // time already runs first. If the worker was still busy at the target time, however, work
+        // enqueued after the target time but before this task started would run behind it.
+        // Re-enqueueing the task once lets that work run first, while still bounding how long the
+        // task can be postponed.
+        yielded = true;
+        if (!executor.executeIfNotShuttingDown(this::handleDelayElapsed)) {
+          // The queue is shutting down and will not run the task.
+          markDone();
+        }
+        return;
+      }
+      runIfPending();
+    }
+
+    private void runIfPending() {
       if (scheduledFuture != null) {
         markDone();
         task.run();
@@ -298,9 +328,20 @@ public class AsyncQueue {
      */
     @Override
     public synchronized void execute(Runnable command) {
-      if (!isShuttingDown) {
-        internalExecutor.execute(command);
+      executeIfNotShuttingDown(command);
+    }
+
+    /**
+     * Executes the command unless shutdown has been initiated.
+     *
+     * @return Whether the command was enqueued.
+     */
+    private synchronized boolean executeIfNotShuttingDown(Runnable command) {
+      if (isShuttingDown) {
+        return false;
       }
+      internalExecutor.execute(command);
+      return true;
     }
 
     /** Execute the command, regardless if shutdown has been initiated. */
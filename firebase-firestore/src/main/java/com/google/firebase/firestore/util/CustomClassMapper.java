@@ -587,6 +587,11 @@ public class CustomClassMapper {
     private final Map<String, Method> setters;
     private final Map<String, Field> fields;
 
+    // The generic types of the settable properties, taken from the setter's parameter or, if
+    // there is no setter, from the field. These are resolved once since the reflective lookups
+    // allocate on every call, which adds up when mapping large query results.
+    private final Map<String, Type> propertyTypes;
+
     // A set of property names that were annotated with @ServerTimestamp.
     private final HashSet<String> serverTimestamps;
 
@@ -604,6 +609,7 @@ public class CustomClassMapper {
       setters = new HashMap<>();
       getters = new HashMap<>();
       fields = new HashMap<>();
+      propertyTypes = new HashMap<>();
 
       serverTimestamps = new HashSet<>();
       documentIdPropertyNames = new HashSet<>();
@@ -724,6 +730,15 @@ public class CustomClassMapper {
         throw new RuntimeException("No properties to serialize found on class " + clazz.getName());
       }
 
+      for (Map.Entry<String, Field> entry : fields.entrySet()) {
+        propertyTypes.put(entry.getKey(), entry.getValue().getGenericType());
+      }
+      for (Map.Entry<String, Method> entry : setters.entrySet()) {
+        Type[] params = entry.getValue().getGenericParameterTypes();
+        hardAssert(params.length == 1, "Setter does not have exactly one parameter");
+        propertyTypes.put(entry.getKey(), params[0]);
+      }
+
       // Make sure we can write to @DocumentId annotated properties before proceeding.
       for (String docIdProperty : documentIdPropertyNames) {
         if (!setters.containsKey(docIdProperty) && !fields.containsKey(docIdProperty)) {
@@ -768,29 +783,22 @@ public class CustomClassMapper {
       HashSet<String> deserialzedProperties = new HashSet<>();
       for (Map.Entry<String, Object> entry : values.entrySet()) {
         String propertyName = entry.getKey();
-        ErrorPath childPath = context.errorPath.child(propertyName);
-        if (setters.containsKey(propertyName)) {
-          Method setter = setters.get(propertyName);
-          Type[] params = setter.getGenericParameterTypes();
-          if (params.length != 1) {
-            throw deserializeError(childPath, "Setter does not have exactly one parameter");
-          }
-          Type resolvedType = resolveType(params[0], types);
+        Type propertyType = propertyTypes.get(propertyName);
+        if (propertyType != null) {
+          ErrorPath childPath = context.errorPath.child(propertyName);
+          Type resolvedType = resolveType(propertyType, types);
           Object value =
               CustomClassMapper.deserializeToType(
                   entry.getValue(), resolvedType, context.newInstanceWithErrorPath(childPath));
-          invoke(setter, instance, value);
-          deserialzedProperties.add(propertyName);
-        } else if (fields.containsKey(propertyName)) {
-          Field field = fields.get(propertyName);
-          Type resolvedType = resolveType(field.getGenericType(), types);
-          Object value =
-              CustomClassMapper.deserializeToType(
-                  entry.getValue(), resolvedType, context.newInstanceWithErrorPath(childPath));
-          try {
-            field.set(instance, value);
-          } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+          Method setter = setters.get(propertyName);
+          if (setter != null) {
+            invoke(setter, instance, value);
+          } else {
+            try {
+              fields.get(propertyName).set(instance, value);
+            } catch (IllegalAccessException e) {
+              throw new RuntimeException(e);
+            }
           }
           deserialzedProperties.add(propertyName);
         } else {
@@ -830,14 +838,9 @@ public class CustomClassMapper {
                   + clazz.getName();
           throw new RuntimeException(message);
         }
-        ErrorPath childPath = context.errorPath.child(docIdPropertyName);
-        if (setters.containsKey(docIdPropertyName)) {
-          Method setter = setters.get(docIdPropertyName);
-          Type[] params = setter.getGenericParameterTypes();
-          if (params.length != 1) {
-            throw deserializeError(childPath, "Setter does not have exactly one parameter");
-          }
-          Type resolvedType = resolveType(params[0], types);
+        Method setter = setters.get(docIdPropertyName);
+        if (setter != null) {
+          Type resolvedType = resolveType(propertyTypes.get(docIdPropertyName), types);
           if (resolvedType == String.class) {
             invoke(setter, instance, context.documentRef.getId());
           } else {
@@ -888,8 +891,8 @@ public class CustomClassMapper {
         }
 
         Object propertyValue;
-        if (getters.containsKey(property)) {
-          Method getter = getters.get(property);
+        Method getter = getters.get(property);
+        if (getter != null) {
           propertyValue = invoke(getter, object);
         } else {
           // Must be a field
@@ -0,0 +1,80 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.core;
+
+import static com.google.firebase.firestore.model.DocumentCollections.emptyDocumentMap;
+import static com.google.firebase.firestore.testutil.TestUtil.doc;
+import static com.google.firebase.firestore.testutil.TestUtil.filter;
+import static com.google.firebase.firestore.testutil.TestUtil.orderBy;
+import static com.google.firebase.firestore.testutil.TestUtil.query;
+
+import com.google.firebase.database.collection.ImmutableSortedMap;
+import com.google.firebase.firestore.model.Document;
+import com.google.firebase.firestore.model.DocumentKey;
+import com.google.firebase.firestore.model.MutableDocument;
+import com.google.firebase.firestore.testutil.Benchmark;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks {@link View#computeDocChanges}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ViewBenchmark {
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test
+  public void computeInitialDocChanges() throws Exception {
+    Query query = query("coll").filter(filter("matches", "==", true));
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      ImmutableSortedMap<DocumentKey, Document> documents = createDocuments(documentCount);
+      Benchmark.measure(
+          "View.computeDocChanges initial docs=" + documentCount,
+          documentCount,
+          () -> new View(query, DocumentKey.emptyKeySet()).computeDocChanges(documents));
+    }
+  }
+
+  @Test
+  public void computeDocChangesForLimitQuery() throws Exception {
+    Query query = query("coll").orderBy(orderBy("order")).limitToFirst(100);
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      ImmutableSortedMap<DocumentKey, Document> documents = createDocuments(documentCount);
+      View view = new View(query, DocumentKey.emptyKeySet());
+      view.applyChanges(view.computeDocChanges(documents));
+
+      // Re-applies the full result set, which exercises the limit handling for every document.
+      Benchmark.measure(
+          "View.computeDocChanges limit docs=" + documentCount,
+          documentCount,
+          () -> view.computeDocChanges(documents));
+    }
+  }
+
+  private static ImmutableSortedMap<DocumentKey, Document> createDocuments(int documentCount) {
+    ImmutableSortedMap<DocumentKey, Document> documents = emptyDocumentMap();
+    for (int i = 0; i < documentCount; ++i) {
+      MutableDocument document = doc("coll/" + i, 1, Benchmark.documentData(i, 10));
+      documents = documents.insert(document.getKey(), document);
+    }
+    return documents;
+  }
+}
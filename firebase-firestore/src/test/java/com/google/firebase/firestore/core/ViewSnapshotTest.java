@@ -19,6 +19,9 @@ import static com.google.firebase.firestore.testutil.TestUtil.key;
 import static com.google.firebase.firestore.testutil.TestUtil.keySet;
 import static com.google.firebase.firestore.testutil.TestUtil.map;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import com.google.firebase.database.collection.ImmutableSortedSet;
 import com.google.firebase.firestore.core.DocumentViewChange.Type;
@@ -74,4 +77,40 @@ public class ViewSnapshotTest {
     assertEquals(excludesMetadataChanges, snapshot.excludesMetadataChanges());
     assertEquals(hasCachedResults, snapshot.hasCachedResults());
   }
+
+  @Test
+  public void testWithoutMetadataChanges() {
+    Query query = Query.atPath(ResourcePath.fromString("a"));
+    Document doc1 = doc("c/foo", 1, map());
+    Document doc2 = doc("c/bar", 1, map());
+    DocumentSet docs = DocumentSet.emptySet(Document.KEY_COMPARATOR).add(doc1).add(doc2);
+    DocumentSet oldDocs = DocumentSet.emptySet(Document.KEY_COMPARATOR).add(doc1);
+    List<DocumentViewChange> changes =
+        Arrays.asList(
+            DocumentViewChange.create(Type.METADATA, doc1),
+            DocumentViewChange.create(Type.ADDED, doc2));
+
+    ViewSnapshot snapshot =
+        new ViewSnapshot(
+            query,
+            docs,
+            oldDocs,
+            changes,
+            /* isFromCache= */ false,
+            keySet(),
+            /* didSyncStateChange= */ false,
+            /* excludesMetadataChanges= */ false,
+            /* hasCachedResults= */ false);
+
+    ViewSnapshot filtered = snapshot.withoutMetadataChanges();
+    assertEquals(Arrays.asList(DocumentViewChange.create(Type.ADDED, doc2)), filtered.getChanges());
+    assertEquals(docs, filtered.getDocuments());
+    assertEquals(oldDocs, filtered.getOldDocuments());
+    assertFalse(snapshot.excludesMetadataChanges());
+    assertTrue(filtered.excludesMetadataChanges());
+
+    // The filtered snapshot is shared between all callers.
+    assertSame(filtered, snapshot.withoutMetadataChanges());
+    assertSame(filtered, filtered.withoutMetadataChanges());
+  }
 }
@@ -399,6 +399,49 @@ public class ViewTest {
     view.applyChanges(changes);
   }
 
+  @Test
+  public void testDoesNotNeedRefillWhenRemovedDocIsReplacedWithinLimit() {
+    Query query = messageQuery().orderBy(orderBy("order")).limitToFirst(2);
+    MutableDocument doc1 = doc("rooms/eros/messages/0", 0, map("order", 1));
+    MutableDocument doc2 = doc("rooms/eros/messages/1", 0, map("order", 3));
+    MutableDocument doc3 = doc("rooms/eros/messages/2", 0, map("order", 2));
+    View view = new View(query, DocumentKey.emptyKeySet());
+
+    // Start with a full view.
+    View.DocumentChanges changes = view.computeDocChanges(docUpdates(doc1, doc2));
+    assertEquals(2, changes.documentSet.size());
+    assertFalse(changes.needsRefill());
+    view.applyChanges(changes);
+
+    // Remove one of the docs and add a doc that sorts before the last doc in the limit.
+    changes = view.computeDocChanges(docUpdates(deletedDoc("rooms/eros/messages/0", 0), doc3));
+    assertEquals(2, changes.documentSet.size());
+    assertFalse(changes.needsRefill());
+    assertEquals(2, changes.changeSet.getChanges().size());
+    view.applyChanges(changes);
+  }
+
+  @Test
+  public void testNeedsRefillWhenLimitToLastBoundaryMovesPastRemovedDoc() {
+    Query query = messageQuery().orderBy(orderBy("order")).limitToLast(2);
+    MutableDocument doc1 = doc("rooms/eros/messages/0", 0, map("order", 2));
+    MutableDocument doc2 = doc("rooms/eros/messages/1", 0, map("order", 3));
+    MutableDocument doc3 = doc("rooms/eros/messages/2", 0, map("order", 1));
+    View view = new View(query, DocumentKey.emptyKeySet());
+
+    // Start with a full view.
+    View.DocumentChanges changes = view.computeDocChanges(docUpdates(doc1, doc2));
+    assertEquals(2, changes.documentSet.size());
+    assertFalse(changes.needsRefill());
+    view.applyChanges(changes);
+
+    // Replace a removed doc with one that sorts before the old first doc in the limit, which means
+    // that other docs from the local cache might belong in the results instead.
+    changes = view.computeDocChanges(docUpdates(deletedDoc("rooms/eros/messages/1", 0), doc3));
+    assertEquals(2, changes.documentSet.size());
+    assertTrue(changes.needsRefill());
+  }
+
   @Test
   public void testDoesNotNeedRefillOnReorderWithinLimit() {
     Query query = messageQuery().orderBy(orderBy("order")).limitToFirst(3);
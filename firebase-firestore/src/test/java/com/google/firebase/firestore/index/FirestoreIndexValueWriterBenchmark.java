@@ -0,0 +1,78 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.index;
+
+import static com.google.firebase.firestore.testutil.TestUtil.wrap;
+
+import com.google.firebase.firestore.model.FieldIndex;
+import com.google.firebase.firestore.testutil.Benchmark;
+import com.google.firestore.v1.Value;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks the encoding of index values through {@link FirestoreIndexValueWriter}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class FirestoreIndexValueWriterBenchmark {
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test
+  public void encodeScalarValues() throws Exception {
+    for (int valueCount : Benchmark.DOCUMENT_COUNTS) {
+      List<Value> values = new ArrayList<>();
+      for (int i = 0; i < valueCount; ++i) {
+        values.add(wrap(i % 2 == 0 ? (Object) ("value-" + i) : (Object) (long) i));
+      }
+      Benchmark.measure(
+          "FirestoreIndexValueWriter scalars count=" + valueCount,
+          valueCount,
+          () -> encode(values));
+    }
+  }
+
+  @Test
+  public void encodeMapValues() throws Exception {
+    for (int fieldCount : Benchmark.FIELD_COUNTS) {
+      int valueCount = 1_000;
+      List<Value> values = new ArrayList<>();
+      for (int i = 0; i < valueCount; ++i) {
+        values.add(wrap(Benchmark.documentData(i, fieldCount)));
+      }
+      Benchmark.measure(
+          "FirestoreIndexValueWriter maps count=" + valueCount + " fields=" + fieldCount,
+          valueCount,
+          () -> encode(values));
+    }
+  }
+
+  /** Encodes each value the same way that SQLiteIndexManager encodes a single index segment. */
+  private static void encode(List<Value> values) {
+    for (Value value : values) {
+      IndexByteEncoder encoder = new IndexByteEncoder();
+      FirestoreIndexValueWriter.INSTANCE.writeIndexValue(
+          value, encoder.forKind(FieldIndex.Segment.Kind.ASCENDING));
+      encoder.getEncodedBytes();
+    }
+  }
+}
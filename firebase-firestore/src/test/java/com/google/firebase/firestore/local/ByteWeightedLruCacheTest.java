@@ -0,0 +1,110 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ByteWeightedLruCacheTest {
+
+  @Test
+  public void testEvictsLeastRecentlyUsedValues() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(100);
+    cache.put("a", "A", 40);
+    cache.put("b", "B", 40);
+    cache.get("a");
+    cache.put("c", "C", 40);
+
+    assertEquals(80, cache.getByteSize());
+    assertEquals("A", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("C", cache.get("c"));
+  }
+
+  @Test
+  public void testReplacesValuesForTheSameKey() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(100);
+    cache.put("a", "A", 40);
+    cache.put("a", "A2", 30);
+
+    assertEquals(30, cache.getByteSize());
+    assertEquals("A2", cache.get("a"));
+  }
+
+  @Test
+  public void testDoesNotCacheValuesLargerThanCache() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(100);
+    cache.put("a", "A", 101);
+
+    assertEquals(0, cache.getByteSize());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  public void testRemovesPreviousValueWhenReplacementIsLargerThanCache() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(100);
+    cache.put("a", "A", 40);
+    cache.put("a", "A2", 101);
+
+    assertEquals(0, cache.getByteSize());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  public void testCacheWithZeroSizeIsDisabled() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(0);
+    cache.put("a", "A", 0);
+
+    assertEquals(0, cache.getByteSize());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  public void testRemovesAndClearsValues() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(100);
+    cache.put("a", "A", 10);
+    cache.put("b", "B", 20);
+    cache.remove("a");
+
+    assertEquals(20, cache.getByteSize());
+    assertNull(cache.get("a"));
+
+    cache.clear();
+    assertEquals(0, cache.getByteSize());
+    assertNull(cache.get("b"));
+  }
+
+  @Test
+  public void testTracksHitsAndMisses() {
+    ByteWeightedLruCache<String, String> cache = new ByteWeightedLruCache<>(100);
+    cache.put("a", "A", 10);
+
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+    cache.remove("a");
+    cache.get("a");
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+}
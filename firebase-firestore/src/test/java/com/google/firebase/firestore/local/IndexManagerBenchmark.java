@@ -0,0 +1,100 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.local;
+
+import static com.google.firebase.firestore.model.DocumentCollections.emptyDocumentMap;
+import static com.google.firebase.firestore.testutil.TestUtil.doc;
+import static com.google.firebase.firestore.testutil.TestUtil.fieldIndex;
+
+import com.google.firebase.database.collection.ImmutableSortedMap;
+import com.google.firebase.firestore.auth.User;
+import com.google.firebase.firestore.model.Document;
+import com.google.firebase.firestore.model.DocumentKey;
+import com.google.firebase.firestore.model.FieldIndex;
+import com.google.firebase.firestore.model.MutableDocument;
+import com.google.firebase.firestore.testutil.Benchmark;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks the index maintenance of {@link SQLiteIndexManager}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class IndexManagerBenchmark {
+  private Persistence persistence;
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @After
+  public void tearDown() {
+    if (persistence != null) {
+      persistence.shutdown();
+    }
+  }
+
+  @Test
+  public void updateIndexEntries() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      for (int fieldCount : Benchmark.FIELD_COUNTS) {
+        tearDown();
+        persistence = PersistenceTestHelpers.createSQLitePersistence();
+        IndexManager indexManager = persistence.getIndexManager(User.UNAUTHENTICATED);
+        indexManager.start();
+        persistence.runTransaction(
+            "Create indexes",
+            () -> {
+              indexManager.addFieldIndex(
+                  fieldIndex("coll", "matches", FieldIndex.Segment.Kind.ASCENDING));
+              indexManager.addFieldIndex(
+                  fieldIndex(
+                      "coll",
+                      "field0",
+                      FieldIndex.Segment.Kind.ASCENDING,
+                      "order",
+                      FieldIndex.Segment.Kind.DESCENDING));
+            });
+
+        // Alternate between two versions of every document, so that each iteration has to
+        // replace all index entries.
+        ImmutableSortedMap<DocumentKey, Document> evenDocuments = emptyDocumentMap();
+        ImmutableSortedMap<DocumentKey, Document> oddDocuments = emptyDocumentMap();
+        for (int i = 0; i < documentCount; ++i) {
+          MutableDocument evenDocument = doc("coll/" + i, 1, Benchmark.documentData(i, fieldCount));
+          MutableDocument oddDocument =
+              doc("coll/" + i, 2, Benchmark.documentData(i + 1, fieldCount));
+          evenDocuments = evenDocuments.insert(evenDocument.getKey(), evenDocument);
+          oddDocuments = oddDocuments.insert(oddDocument.getKey(), oddDocument);
+        }
+
+        ImmutableSortedMap<DocumentKey, Document> even = evenDocuments;
+        ImmutableSortedMap<DocumentKey, Document> odd = oddDocuments;
+        int[] iteration = new int[1];
+        Benchmark.measure(
+            "IndexManager.updateIndexEntries docs=" + documentCount + " fields=" + fieldCount,
+            documentCount,
+            () ->
+                persistence.runTransaction(
+                    "Update index entries",
+                    () -> indexManager.updateIndexEntries(iteration[0]++ % 2 == 0 ? even : odd)));
+      }
+    }
+  }
+}
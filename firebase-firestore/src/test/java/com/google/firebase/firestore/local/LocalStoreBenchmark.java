@@ -0,0 +1,171 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.local;
+
+import static com.google.firebase.firestore.testutil.TestUtil.addedRemoteEvent;
+import static com.google.firebase.firestore.testutil.TestUtil.deletedDoc;
+import static com.google.firebase.firestore.testutil.TestUtil.doc;
+import static com.google.firebase.firestore.testutil.TestUtil.map;
+import static com.google.firebase.firestore.testutil.TestUtil.patchMutation;
+import static com.google.firebase.firestore.testutil.TestUtil.query;
+import static com.google.firebase.firestore.testutil.TestUtil.wrapObject;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import com.google.firebase.firestore.auth.User;
+import com.google.firebase.firestore.model.MutableDocument;
+import com.google.firebase.firestore.model.ObjectValue;
+import com.google.firebase.firestore.remote.RemoteEvent;
+import com.google.firebase.firestore.testutil.Benchmark;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks {@link LocalStore} operations against SQLite persistence. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class LocalStoreBenchmark {
+  private Persistence persistence;
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @After
+  public void tearDown() {
+    if (persistence != null) {
+      persistence.shutdown();
+    }
+  }
+
+  @Test
+  public void applyRemoteEvent() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      for (int fieldCount : Benchmark.FIELD_COUNTS) {
+        tearDown();
+        persistence = PersistenceTestHelpers.createSQLitePersistence();
+        LocalStore localStore =
+            new LocalStore(persistence, new QueryEngine(), User.UNAUTHENTICATED);
+        localStore.start();
+        int targetId = localStore.allocateTarget(query("coll").toTarget()).getTargetId();
+
+        List<ObjectValue> data = new ArrayList<>();
+        for (int i = 0; i < documentCount; ++i) {
+          data.add(wrapObject(Benchmark.documentData(i, fieldCount)));
+        }
+
+        // Every iteration applies a new version of all documents, so that none of the updates
+        // are skipped as stale. The immutable document data is shared across versions.
+        List<RemoteEvent> events = new ArrayList<>();
+        for (int version = 1;
+            version <= Benchmark.WARMUP_ITERATIONS + Benchmark.MEASURED_ITERATIONS;
+            ++version) {
+          List<MutableDocument> documents = new ArrayList<>();
+          for (int i = 0; i < documentCount; ++i) {
+            documents.add(doc("coll/" + i, version, data.get(i)));
+          }
+          events.add(addedRemoteEvent(documents, singletonList(targetId), emptyList()));
+        }
+
+        Iterator<RemoteEvent> it = events.iterator();
+        Benchmark.measure(
+            "LocalStore.applyRemoteEvent docs=" + documentCount + " fields=" + fieldCount,
+            documentCount,
+            () -> localStore.applyRemoteEvent(it.next()));
+      }
+    }
+  }
+
+  /**
+   * Measures remote events that flip the existence of documents with pending patches. Each event
+   * recalculates the overlays of these documents from the pending mutation batches.
+   */
+  @Test
+  public void applyRemoteEventWithPendingWrites() throws Exception {
+    for (int pendingWriteCount : Benchmark.DOCUMENT_COUNTS) {
+      tearDown();
+      persistence = PersistenceTestHelpers.createSQLitePersistence();
+      LocalStore localStore = new LocalStore(persistence, new QueryEngine(), User.UNAUTHENTICATED);
+      localStore.start();
+      int targetId = localStore.allocateTarget(query("coll").toTarget()).getTargetId();
+
+      for (int i = 0; i < pendingWriteCount; ++i) {
+        localStore.writeLocally(singletonList(patchMutation("coll/" + i, map("pending", i))));
+      }
+
+      List<RemoteEvent> events = new ArrayList<>();
+      for (int version = 1;
+          version <= Benchmark.WARMUP_ITERATIONS + Benchmark.MEASURED_ITERATIONS;
+          ++version) {
+        List<MutableDocument> documents = new ArrayList<>();
+        for (int i = 0; i < pendingWriteCount; ++i) {
+          documents.add(
+              version % 2 == 1
+                  ? doc("coll/" + i, version, Benchmark.documentData(i, 10))
+                  : deletedDoc("coll/" + i, version));
+        }
+        events.add(addedRemoteEvent(documents, singletonList(targetId), emptyList()));
+      }
+
+      Iterator<RemoteEvent> it = events.iterator();
+      Benchmark.measure(
+          "LocalStore.applyRemoteEvent pendingWrites=" + pendingWriteCount,
+          pendingWriteCount,
+          () -> localStore.applyRemoteEvent(it.next()));
+    }
+  }
+
+  /**
+   * Measures full-collection queries over a collection in which every tenth document has a pending
+   * local patch. The pending writes are created before measuring, so every iteration runs against
+   * the same mutation queue and only the query is timed.
+   */
+  @Test
+  public void executeQueryWithPendingWrites() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      for (int fieldCount : Benchmark.FIELD_COUNTS) {
+        tearDown();
+        persistence = PersistenceTestHelpers.createSQLitePersistence();
+        LocalStore localStore =
+            new LocalStore(persistence, new QueryEngine(), User.UNAUTHENTICATED);
+        localStore.start();
+        int targetId = localStore.allocateTarget(query("coll").toTarget()).getTargetId();
+
+        List<MutableDocument> documents = new ArrayList<>();
+        for (int i = 0; i < documentCount; ++i) {
+          documents.add(doc("coll/" + i, 1, Benchmark.documentData(i, fieldCount)));
+        }
+        localStore.applyRemoteEvent(
+            addedRemoteEvent(documents, singletonList(targetId), emptyList()));
+
+        for (int i = 0; i < documentCount; i += 10) {
+          localStore.writeLocally(singletonList(patchMutation("coll/" + i, map("pending", i))));
+        }
+
+        Benchmark.measure(
+            "LocalStore.executeQuery pendingWrites docs=" + documentCount + " fields=" + fieldCount,
+            documentCount,
+            () -> localStore.executeQuery(query("coll"), /* usePreviousResults= */ false));
+      }
+    }
+  }
+}
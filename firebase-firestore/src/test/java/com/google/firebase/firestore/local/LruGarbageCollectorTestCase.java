@@ -772,4 +772,55 @@ public abstract class LruGarbageCollectorTestCase {
     assertEquals(10, results.getTargetsRemoved());
     assertEquals(100, results.getDocumentsRemoved());
   }
+
+  @Test
+  public void testGCReportsRemainingGarbageWhenCapped() {
+    // Collect all sequence numbers, but at most 5 per run.
+    LruGarbageCollector.Params params =
+        new LruGarbageCollector.Params(
+            /* minBytesThreshold= */ 100,
+            /* percentileToCollect= */ 100,
+            /* maximumSequenceNumbersToCollect= */ 5);
+
+    persistence.shutdown();
+    newTestResources(params);
+
+    for (int i = 0; i < 10; i++) {
+      persistence.runTransaction("Add a target", this::addNextQueryInTransaction);
+    }
+
+    LruGarbageCollector.Results results =
+        persistence.runTransaction("GC", () -> garbageCollector.collect(new SparseArray<>()));
+    assertEquals(5, results.getTargetsRemoved());
+    assertTrue(results.hasRemainingGarbage());
+
+    results = persistence.runTransaction("GC", () -> garbageCollector.collect(new SparseArray<>()));
+    assertEquals(5, results.getTargetsRemoved());
+    assertFalse(results.hasRemainingGarbage());
+  }
+
+  @Test
+  public void testGCDoesNotReportRemainingGarbageWhenCappedRangeIsLive() {
+    LruGarbageCollector.Params params =
+        new LruGarbageCollector.Params(
+            /* minBytesThreshold= */ 100,
+            /* percentileToCollect= */ 100,
+            /* maximumSequenceNumbersToCollect= */ 5);
+
+    persistence.shutdown();
+    newTestResources(params);
+
+    SparseArray<TargetData> liveTargets = new SparseArray<>();
+    for (int i = 0; i < 10; i++) {
+      TargetData targetData =
+          persistence.runTransaction("Add a target", this::addNextQueryInTransaction);
+      liveTargets.put(targetData.getTargetId(), targetData);
+    }
+
+    LruGarbageCollector.Results results =
+        persistence.runTransaction("GC", () -> garbageCollector.collect(liveTargets));
+    assertEquals(0, results.getTargetsRemoved());
+    assertEquals(0, results.getDocumentsRemoved());
+    assertFalse(results.hasRemainingGarbage());
+  }
 }
@@ -0,0 +1,162 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.local;
+
+import static com.google.firebase.firestore.model.DocumentCollections.emptyDocumentMap;
+import static com.google.firebase.firestore.testutil.TestUtil.doc;
+import static com.google.firebase.firestore.testutil.TestUtil.fieldIndex;
+import static com.google.firebase.firestore.testutil.TestUtil.filter;
+import static com.google.firebase.firestore.testutil.TestUtil.query;
+import static com.google.firebase.firestore.testutil.TestUtil.version;
+
+import com.google.firebase.database.collection.ImmutableSortedMap;
+import com.google.firebase.database.collection.ImmutableSortedSet;
+import com.google.firebase.firestore.auth.User;
+import com.google.firebase.firestore.core.Query;
+import com.google.firebase.firestore.model.Document;
+import com.google.firebase.firestore.model.DocumentKey;
+import com.google.firebase.firestore.model.FieldIndex;
+import com.google.firebase.firestore.model.MutableDocument;
+import com.google.firebase.firestore.model.SnapshotVersion;
+import com.google.firebase.firestore.testutil.Benchmark;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks the three execution paths of {@link QueryEngine} against SQLite persistence. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class QueryEngineBenchmark {
+  private static final Query QUERY = query("coll").filter(filter("matches", "==", true));
+
+  private Persistence persistence;
+  private RemoteDocumentCache remoteDocumentCache;
+  private IndexManager indexManager;
+  private QueryEngine queryEngine;
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @After
+  public void tearDown() {
+    if (persistence != null) {
+      persistence.shutdown();
+    }
+  }
+
+  @Test
+  public void fullCollectionScan() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      for (int fieldCount : Benchmark.FIELD_COUNTS) {
+        createCache(documentCount, fieldCount);
+        Benchmark.measure(
+            "QueryEngine full scan docs=" + documentCount + " fields=" + fieldCount,
+            documentCount,
+            () ->
+                queryEngine.getDocumentsMatchingQuery(
+                    QUERY, SnapshotVersion.NONE, DocumentKey.emptyKeySet()));
+      }
+    }
+  }
+
+  @Test
+  public void indexBasedQuery() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      for (int fieldCount : Benchmark.FIELD_COUNTS) {
+        ImmutableSortedMap<DocumentKey, Document> documents =
+            createCache(documentCount, fieldCount);
+        persistence.runTransaction(
+            "Build index",
+            () -> {
+              indexManager.addFieldIndex(
+                  fieldIndex("coll", "matches", FieldIndex.Segment.Kind.ASCENDING));
+              indexManager.updateIndexEntries(documents);
+              indexManager.updateCollectionGroup(
+                  "coll", FieldIndex.IndexOffset.createSuccessor(version(1), -1));
+            });
+        Benchmark.measure(
+            "QueryEngine index docs=" + documentCount + " fields=" + fieldCount,
+            documentCount,
+            () ->
+                queryEngine.getDocumentsMatchingQuery(
+                    QUERY, SnapshotVersion.NONE, DocumentKey.emptyKeySet()));
+      }
+    }
+  }
+
+  @Test
+  public void remoteKeysQuery() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      for (int fieldCount : Benchmark.FIELD_COUNTS) {
+        ImmutableSortedMap<DocumentKey, Document> documents =
+            createCache(documentCount, fieldCount);
+        ImmutableSortedSet<DocumentKey> remoteKeys = DocumentKey.emptyKeySet();
+        for (Document document : documents.values()) {
+          if (QUERY.matches(document)) {
+            remoteKeys = remoteKeys.insert(document.getKey());
+          }
+        }
+        ImmutableSortedSet<DocumentKey> matchingKeys = remoteKeys;
+        Benchmark.measure(
+            "QueryEngine remote keys docs=" + documentCount + " fields=" + fieldCount,
+            documentCount,
+            () -> queryEngine.getDocumentsMatchingQuery(QUERY, version(10), matchingKeys));
+      }
+    }
+  }
+
+  /** Creates a fresh cache with the given number of documents at version 1 in 'coll'. */
+  private ImmutableSortedMap<DocumentKey, Document> createCache(int documentCount, int fieldCount) {
+    tearDown();
+
+    persistence = PersistenceTestHelpers.createSQLitePersistence();
+    indexManager = persistence.getIndexManager(User.UNAUTHENTICATED);
+    MutationQueue mutationQueue = persistence.getMutationQueue(User.UNAUTHENTICATED, indexManager);
+    remoteDocumentCache = persistence.getRemoteDocumentCache();
+    indexManager.start();
+    mutationQueue.start();
+    remoteDocumentCache.setIndexManager(indexManager);
+
+    queryEngine = new QueryEngine();
+    queryEngine.initialize(
+        new LocalDocumentsView(
+            remoteDocumentCache,
+            mutationQueue,
+            persistence.getDocumentOverlayCache(User.UNAUTHENTICATED),
+            indexManager),
+        indexManager);
+
+    ImmutableSortedMap<DocumentKey, Document> documents = emptyDocumentMap();
+    for (int i = 0; i < documentCount; ++i) {
+      MutableDocument document = doc("coll/" + i, 1, Benchmark.documentData(i, fieldCount));
+      documents = documents.insert(document.getKey(), document);
+    }
+
+    ImmutableSortedMap<DocumentKey, Document> addedDocuments = documents;
+    persistence.runTransaction(
+        "Add documents",
+        () -> {
+          for (Document document : addedDocuments.values()) {
+            remoteDocumentCache.add((MutableDocument) document, version(1));
+          }
+        });
+    return documents;
+  }
+}
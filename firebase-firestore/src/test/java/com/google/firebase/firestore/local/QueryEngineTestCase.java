@@ -191,7 +191,7 @@ public abstract class QueryEngineTestCase {
     }
   }
 
-  private <T> T expectFullCollectionScan(Callable<T> c) throws Exception {
+  protected <T> T expectFullCollectionScan(Callable<T> c) throws Exception {
     try {
       expectFullCollectionScan = true;
       return c.call();
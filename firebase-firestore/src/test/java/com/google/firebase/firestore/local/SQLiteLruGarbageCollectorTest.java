@@ -14,6 +14,17 @@
 
 package com.google.firebase.firestore.local;
 
+import static com.google.firebase.firestore.testutil.TestUtil.doc;
+import static com.google.firebase.firestore.testutil.TestUtil.map;
+import static com.google.firebase.firestore.testutil.TestUtil.version;
+import static org.junit.Assert.assertTrue;
+
+import com.google.firebase.firestore.model.DocumentKey;
+import com.google.firebase.firestore.model.MutableDocument;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
@@ -25,4 +36,31 @@ public class SQLiteLruGarbageCollectorTest extends LruGarbageCollectorTestCase {
   Persistence createPersistence(LruGarbageCollector.Params params) {
     return PersistenceTestHelpers.createSQLitePersistence(params);
   }
+
+  @Test
+  public void testByteSizeExcludesFreePages() {
+    SQLitePersistence persistence = PersistenceTestHelpers.createSQLitePersistence();
+    RemoteDocumentCache documentCache = persistence.getRemoteDocumentCache();
+    documentCache.setIndexManager(new MemoryIndexManager());
+
+    char[] padding = new char[1024];
+    Arrays.fill(padding, 'x');
+    List<DocumentKey> keys = new ArrayList<>();
+    persistence.runTransaction(
+        "Fill cache",
+        () -> {
+          for (int i = 0; i < 500; i++) {
+            MutableDocument doc = doc("coll/doc" + i, 1, map("padding", new String(padding)));
+            documentCache.add(doc, version(1));
+            keys.add(doc.getKey());
+          }
+        });
+    long filledSize = persistence.getByteSize();
+
+    persistence.runTransaction("Remove documents", () -> documentCache.removeAll(keys));
+    long finalSize = persistence.getByteSize();
+
+    assertTrue(finalSize < filledSize);
+    persistence.shutdown();
+  }
 }
@@ -14,6 +14,19 @@
 
 package com.google.firebase.firestore.local;
 
+import static com.google.firebase.firestore.testutil.TestUtil.key;
+import static com.google.firebase.firestore.testutil.TestUtil.map;
+import static com.google.firebase.firestore.testutil.TestUtil.setMutation;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.auth.User;
+import com.google.firebase.firestore.model.mutation.MutationBatch;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
@@ -26,4 +39,37 @@ public class SQLiteMutationQueueTest extends MutationQueueTestCase {
   Persistence getPersistence() {
     return PersistenceTestHelpers.createSQLitePersistence();
   }
+
+  @Test
+  public void testReusesDecodedBatchesUntilRemoved() {
+    SQLitePersistence persistence = PersistenceTestHelpers.createSQLitePersistence();
+    persistence.getReferenceDelegate().setInMemoryPins(new ReferenceSet());
+    IndexManager indexManager = persistence.getIndexManager(User.UNAUTHENTICATED);
+    indexManager.start();
+    SQLiteMutationQueue mutationQueue =
+        (SQLiteMutationQueue) persistence.getMutationQueue(User.UNAUTHENTICATED, indexManager);
+    mutationQueue.start();
+
+    MutationBatch[] added = new MutationBatch[1];
+    persistence.runTransaction(
+        "Add batch",
+        () ->
+            added[0] =
+                mutationQueue.addMutationBatch(
+                    Timestamp.now(), emptyList(), singletonList(setMutation("coll/a", map()))));
+    int batchId = added[0].getBatchId();
+
+    MutationBatch first = mutationQueue.lookupMutationBatch(batchId);
+    MutationBatch second =
+        mutationQueue.getAllMutationBatchesAffectingDocumentKey(key("coll/a")).get(0);
+    assertEquals(added[0], first);
+    assertSame(first, second);
+    assertEquals(1, mutationQueue.getDecodedBatchCache().getHitCount());
+
+    persistence.runTransaction("Remove batch", () -> mutationQueue.removeMutationBatch(first));
+    assertNull(mutationQueue.lookupMutationBatch(batchId));
+    assertEquals(0, mutationQueue.getDecodedBatchCache().getByteSize());
+
+    persistence.shutdown();
+  }
 }
@@ -74,6 +74,55 @@ public class SQLiteQueryEngineTest extends QueryEngineTestCase {
     assertEquals(docSet(queryWithFilter.comparator(), doc1, doc2, doc3, doc4), results);
   }
 
+  @Test
+  public void testFallsBackToCollectionScanWhenIndexIsNotSelective() throws Exception {
+    MutableDocument doc1 = doc("coll/a", 1, map("foo", true));
+    MutableDocument doc2 = doc("coll/b", 1, map("foo", true));
+    MutableDocument doc3 = doc("coll/c", 1, map("foo", true));
+    MutableDocument doc4 = doc("coll/d", 1, map("foo", false));
+    addDocument(doc1, doc2, doc3, doc4);
+
+    // The first scan records the size of the collection.
+    Query matchesMost = query("coll").filter(filter("foo", "==", true));
+    expectFullCollectionScan(() -> runQuery(matchesMost, SnapshotVersion.NONE));
+
+    indexManager.addFieldIndex(fieldIndex("coll", "foo", Kind.ASCENDING));
+    indexManager.updateIndexEntries(docMap(doc1, doc2, doc3, doc4));
+    indexManager.updateCollectionGroup("coll", IndexOffset.fromDocument(doc4));
+
+    // Reading 3 of 4 documents by key is more expensive than scanning the collection.
+    DocumentSet results =
+        expectFullCollectionScan(() -> runQuery(matchesMost, SnapshotVersion.NONE));
+    assertEquals(docSet(matchesMost.comparator(), doc1, doc2, doc3), results);
+
+    Query matchesFew = query("coll").filter(filter("foo", "==", false));
+    results = expectOptimizedCollectionScan(() -> runQuery(matchesFew, SnapshotVersion.NONE));
+    assertEquals(docSet(matchesFew.comparator(), doc4), results);
+  }
+
+  @Test
+  public void testForgetsSizeEstimatesOfLeastRecentlyScannedCollections() throws Exception {
+    MutableDocument doc1 = doc("coll/a", 1, map("foo", true));
+    MutableDocument doc2 = doc("coll/b", 1, map("foo", true));
+    addDocument(doc1, doc2);
+
+    Query matchesAll = query("coll").filter(filter("foo", "==", true));
+    expectFullCollectionScan(() -> runQuery(matchesAll, SnapshotVersion.NONE));
+    for (int i = 0; i < QueryEngine.MAX_COLLECTION_SIZE_ESTIMATES; ++i) {
+      Query other = query("other" + i);
+      expectFullCollectionScan(() -> runQuery(other, SnapshotVersion.NONE));
+    }
+
+    indexManager.addFieldIndex(fieldIndex("coll", "foo", Kind.ASCENDING));
+    indexManager.updateIndexEntries(docMap(doc1, doc2));
+    indexManager.updateCollectionGroup("coll", IndexOffset.fromDocument(doc2));
+
+    // Without a size estimate for the collection, the index is used.
+    DocumentSet results =
+        expectOptimizedCollectionScan(() -> runQuery(matchesAll, SnapshotVersion.NONE));
+    assertEquals(docSet(matchesAll.comparator(), doc1, doc2), results);
+  }
+
   @Test
   public void testUsesPartialIndexForLimitQueries() throws Exception {
     MutableDocument doc1 = doc("coll/1", 1, map("a", 1, "b", 0));
@@ -15,13 +15,23 @@
 package com.google.firebase.firestore.local;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.firebase.firestore.testutil.TestUtil.filter;
 import static com.google.firebase.firestore.testutil.TestUtil.key;
+import static com.google.firebase.firestore.testutil.TestUtil.map;
+import static com.google.firebase.firestore.testutil.TestUtil.query;
 import static com.google.firebase.firestore.testutil.TestUtil.version;
+import static com.google.firebase.firestore.testutil.TestUtil.wrap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 
 import com.google.firebase.firestore.model.DocumentKey;
 import com.google.firebase.firestore.model.FieldIndex;
+import com.google.firebase.firestore.model.FieldPath;
 import com.google.firebase.firestore.model.MutableDocument;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
@@ -86,4 +96,54 @@ public final class SQLiteRemoteDocumentCacheTest extends RemoteDocumentCacheTest
         remoteDocumentCache.getAll("b", FieldIndex.IndexOffset.NONE, size);
     assertThat(results).hasSize(size);
   }
+
+  @Test
+  public void testGetMatchingDocsAcrossMultipleDecodeBatches() {
+    int size = SQLiteRemoteDocumentCache.DECODE_BATCH_SIZE * 3 + 1;
+    Set<DocumentKey> expected = new HashSet<>();
+    for (int i = 0; i < size; ++i) {
+      boolean matches = i % 2 == 0;
+      addTestDocumentAtPath(
+          "a/" + i, /* updateTime= */ 1, /* readTime= */ 1, map("matches", matches));
+      if (matches) {
+        expected.add(key("a/" + i));
+      }
+    }
+
+    Map<DocumentKey, MutableDocument> results =
+        remoteDocumentCache.getDocumentsMatchingQuery(
+            query("a").filter(filter("matches", "==", true)),
+            FieldIndex.IndexOffset.NONE,
+            new HashSet<>());
+    assertThat(results.keySet()).containsExactlyElementsIn(expected);
+  }
+
+  @Test
+  public void testPointLookupsAreServedFromDecodedDocumentCache() {
+    addTestDocumentAtPath("a/1");
+    ByteWeightedLruCache<DocumentKey, MutableDocument> decodedDocumentCache =
+        ((SQLiteRemoteDocumentCache) remoteDocumentCache).getDecodedDocumentCache();
+
+    MutableDocument first = remoteDocumentCache.get(key("a/1"));
+    MutableDocument second = remoteDocumentCache.get(key("a/1"));
+    assertEquals(first, second);
+    assertEquals(1, decodedDocumentCache.getMissCount());
+    assertEquals(1, decodedDocumentCache.getHitCount());
+
+    MutableDocument updated =
+        addTestDocumentAtPath("a/1", /* updateTime= */ 43, /* readTime= */ 43, map("data", 3));
+    assertEquals(updated, remoteDocumentCache.get(key("a/1")));
+    assertEquals(2, decodedDocumentCache.getMissCount());
+  }
+
+  @Test
+  public void testPointLookupsReturnCopiesOfCachedDocuments() {
+    addTestDocumentAtPath("a/1");
+    MutableDocument first = remoteDocumentCache.get(key("a/1"));
+    first.getData().set(FieldPath.fromDotSeparatedPath("data"), wrap("modified"));
+
+    MutableDocument second = remoteDocumentCache.get(key("a/1"));
+    assertNotSame(first, second);
+    assertNotEquals(first, second);
+  }
 }
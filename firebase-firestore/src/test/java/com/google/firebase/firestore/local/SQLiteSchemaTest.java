@@ -700,7 +700,10 @@ public class SQLiteSchemaTest {
     SQLitePersistence persistence =
         new SQLitePersistence(serializer, LruGarbageCollector.Params.Default(), opener);
     persistence.start();
-    return new SQLiteRemoteDocumentCache(persistence, serializer);
+    return new SQLiteRemoteDocumentCache(
+        persistence,
+        serializer,
+        SQLiteRemoteDocumentCache.DEFAULT_DECODED_DOCUMENT_CACHE_SIZE_BYTES);
   }
 
   private byte[] createDummyDocument(String name) {
@@ -0,0 +1,71 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.model;
+
+import static com.google.firebase.firestore.testutil.TestUtil.wrap;
+
+import com.google.firebase.firestore.testutil.Benchmark;
+import com.google.firestore.v1.Value;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks {@link Values#compare}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ValuesBenchmark {
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test
+  public void sortScalarValues() throws Exception {
+    for (int valueCount : Benchmark.DOCUMENT_COUNTS) {
+      List<Value> values = new ArrayList<>();
+      for (int i = 0; i < valueCount; ++i) {
+        values.add(wrap(i % 3 == 0 ? (Object) ("value-" + i) : (Object) (long) i));
+      }
+      Collections.shuffle(values, new Random(0));
+      Benchmark.measure(
+          "Values.compare scalars count=" + valueCount,
+          valueCount,
+          () -> new ArrayList<>(values).sort(Values::compare));
+    }
+  }
+
+  @Test
+  public void sortMapValues() throws Exception {
+    for (int fieldCount : Benchmark.FIELD_COUNTS) {
+      int valueCount = 1_000;
+      List<Value> values = new ArrayList<>();
+      for (int i = 0; i < valueCount; ++i) {
+        values.add(wrap(Benchmark.documentData(i, fieldCount)));
+      }
+      Collections.shuffle(values, new Random(0));
+      Benchmark.measure(
+          "Values.compare maps count=" + valueCount + " fields=" + fieldCount,
+          valueCount,
+          () -> new ArrayList<>(values).sort(Values::compare));
+    }
+  }
+}
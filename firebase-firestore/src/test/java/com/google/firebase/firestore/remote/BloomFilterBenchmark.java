@@ -0,0 +1,114 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.remote;
+
+import static com.google.firebase.firestore.testutil.TestUtil.activeQueries;
+import static com.google.firebase.firestore.testutil.TestUtil.key;
+
+import com.google.firebase.database.collection.ImmutableSortedSet;
+import com.google.firebase.firestore.local.TargetData;
+import com.google.firebase.firestore.model.DocumentKey;
+import com.google.firebase.firestore.testutil.Benchmark;
+import com.google.firebase.firestore.testutil.TestTargetMetadataProvider;
+import com.google.firestore.v1.BitSequence;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Benchmarks the membership checks of {@link BloomFilter} used for existence filters, both in
+ * isolation and as applied by {@link WatchChangeAggregator}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class BloomFilterBenchmark {
+  private static final int BITMAP_SIZE_BYTES = 64 * 1024;
+  private static final int HASH_COUNT = 7;
+  private static final int TARGET_ID = 1;
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test
+  public void mightContain() throws Exception {
+    byte[] bitmap = new byte[BITMAP_SIZE_BYTES];
+    new Random(42).nextBytes(bitmap);
+    BloomFilter bloomFilter = new BloomFilter(ByteString.copyFrom(bitmap), 0, HASH_COUNT);
+
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      List<String> documentPaths = new ArrayList<>();
+      for (int i = 0; i < documentCount; ++i) {
+        documentPaths.add("projects/project-1/databases/database-1/documents/coll/doc" + i);
+      }
+      Benchmark.measure(
+          "BloomFilter.mightContain docs=" + documentCount,
+          documentCount,
+          () -> {
+            for (String documentPath : documentPaths) {
+              bloomFilter.mightContain(documentPath);
+            }
+          });
+    }
+  }
+
+  @Test
+  public void handleExistenceFilter() throws Exception {
+    byte[] bitmap = new byte[BITMAP_SIZE_BYTES];
+    new Random(42).nextBytes(bitmap);
+    ByteString bits = ByteString.copyFrom(bitmap);
+    BloomFilter bloomFilter = new BloomFilter(bits, 0, HASH_COUNT);
+    com.google.firestore.v1.BloomFilter unchangedNames =
+        com.google.firestore.v1.BloomFilter.newBuilder()
+            .setBits(BitSequence.newBuilder().setBitmap(bits).setPadding(0))
+            .setHashCount(HASH_COUNT)
+            .build();
+    TargetData targetData = activeQueries(TARGET_ID).get(TARGET_ID);
+
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      TestTargetMetadataProvider targetMetadataProvider = new TestTargetMetadataProvider();
+      ImmutableSortedSet<DocumentKey> syncedKeys = DocumentKey.emptyKeySet();
+      int unchangedCount = 0;
+      for (int i = 0; i < documentCount; ++i) {
+        DocumentKey documentKey = key("coll/doc" + i);
+        syncedKeys = syncedKeys.insert(documentKey);
+        if (bloomFilter.mightContain(
+            "projects/test-project/databases/(default)/documents/" + documentKey)) {
+          ++unchangedCount;
+        }
+      }
+      targetMetadataProvider.setSyncedKeys(targetData, syncedKeys);
+
+      // The expected count matches the documents kept by the bloom filter, so that every run
+      // applies the filter successfully instead of falling back to a target reset.
+      ExistenceFilter existenceFilter = new ExistenceFilter(unchangedCount, unchangedNames);
+      Benchmark.measure(
+          "WatchChangeAggregator.handleExistenceFilter docs=" + documentCount,
+          documentCount,
+          () -> {
+            WatchChangeAggregator aggregator = new WatchChangeAggregator(targetMetadataProvider);
+            aggregator.handleExistenceFilter(
+                new WatchChange.ExistenceFilterWatchChange(TARGET_ID, existenceFilter));
+          });
+    }
+  }
+}
@@ -0,0 +1,73 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.remote;
+
+import static com.google.firebase.firestore.testutil.TestUtil.key;
+import static com.google.firebase.firestore.testutil.TestUtil.version;
+import static com.google.firebase.firestore.testutil.TestUtil.wrapObject;
+
+import com.google.firebase.firestore.model.DatabaseId;
+import com.google.firebase.firestore.testutil.Benchmark;
+import com.google.firestore.v1.DocumentChange;
+import com.google.firestore.v1.ListenResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks the decoding of watch document changes in {@link RemoteSerializer}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class RemoteSerializerBenchmark {
+  private RemoteSerializer serializer;
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+    serializer = new RemoteSerializer(DatabaseId.forProject("p"));
+  }
+
+  @Test
+  public void decodeDocumentChanges() throws Exception {
+    for (int fieldCount : Benchmark.FIELD_COUNTS) {
+      int documentCount = 1_000;
+      List<ListenResponse> responses = new ArrayList<>();
+      for (int i = 0; i < documentCount; ++i) {
+        com.google.firestore.v1.Document document =
+            serializer
+                .encodeDocument(key("coll/" + i), wrapObject(Benchmark.documentData(i, fieldCount)))
+                .toBuilder()
+                .setUpdateTime(serializer.encodeVersion(version(1)))
+                .build();
+        responses.add(
+            ListenResponse.newBuilder()
+                .setDocumentChange(
+                    DocumentChange.newBuilder().setDocument(document).addTargetIds(1))
+                .build());
+      }
+      Benchmark.measure(
+          "RemoteSerializer.decodeWatchChange docs=" + documentCount + " fields=" + fieldCount,
+          documentCount,
+          () -> {
+            for (ListenResponse response : responses) {
+              serializer.decodeWatchChange(response);
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.testutil;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A minimal microbenchmark harness for the JVM unit tests.
+ *
+ * <p>Benchmarks are regular JUnit tests that are skipped unless the {@code firestore.benchmarks}
+ * system property is set, which can be done by passing {@code -PfirestoreBenchmarks} to Gradle:
+ *
+ * <pre>
+ * ./gradlew :firebase-firestore:testDebugUnitTest -PfirestoreBenchmarks --tests '*Benchmark'
+ * </pre>
+ *
+ * <p>Each benchmark runs a number of warmup iterations to let the JIT settle, then reports the
+ * median and minimum time of the measured iterations.
+ */
+public final class Benchmark {
+  /** The system property that enables benchmarks. */
+  public static final String ENABLED_PROPERTY = "firestore.benchmarks";
+
+  /** The document counts that benchmarks are parameterized with. */
+  public static final int[] DOCUMENT_COUNTS = new int[] {100, 1_000, 10_000};
+
+  /** The number of filler fields per document that benchmarks are parameterized with. */
+  public static final int[] FIELD_COUNTS = new int[] {10, 100};
+
+  public static final int WARMUP_ITERATIONS = 5;
+  public static final int MEASURED_ITERATIONS = 10;
+
+  /** An operation that is measured by a benchmark. */
+  public interface Operation {
+    void run() throws Exception;
+  }
+
+  private Benchmark() {}
+
+  /** Skips the calling test unless benchmarks are enabled. */
+  public static void assumeEnabled() {
+    assumeTrue(
+        "Benchmarks are disabled. Pass -PfirestoreBenchmarks to Gradle to run them.",
+        Boolean.getBoolean(ENABLED_PROPERTY));
+  }
+
+  /**
+   * Returns the user data for the benchmark document with the given index. Every document has an
+   * integer {@code order} field, a boolean {@code matches} field that is true for every other
+   * document and {@code fieldCount} string fields.
+   */
+  public static Map<String, Object> documentData(int index, int fieldCount) {
+    Map<String, Object> data = new HashMap<>();
+    data.put("order", index);
+    data.put("matches", index % 2 == 0);
+    for (int i = 0; i < fieldCount; ++i) {
+      data.put("field" + i, "value-" + index + "-" + i);
+    }
+    return data;
+  }
+
+  /**
+   * Runs the given operation and prints its timings.
+   *
+   * @param name A descriptive name for the benchmark, including its parameters.
+   * @param operationsPerIteration The number of logical operations (e.g. documents) processed by a
+   *     single run of {@code operation}, used to report the throughput.
+   * @param operation The operation to measure.
+   */
+  public static void measure(String name, int operationsPerIteration, Operation operation)
+      throws Exception {
+    for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+      operation.run();
+    }
+
+    long[] nanos = new long[MEASURED_ITERATIONS];
+    for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+      long start = System.nanoTime();
+      operation.run();
+      nanos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+
+    long median = nanos[MEASURED_ITERATIONS / 2];
+    double opsPerSecond = operationsPerIteration * 1e9 / median;
+    System.out.println(
+        String.format(
+            Locale.US,
+            "%-60s median: %10.3f ms  min: %10.3f ms  throughput: %12.1f ops/s",
+            name,
+            median / 1e6,
+            nanos[0] / 1e6,
+            opsPerSecond));
+  }
+}
@@ -83,6 +83,39 @@ public class AsyncQueueTest {
     waitForExpectedSteps();
   }
 
+  @Test
+  public void backgroundMaintenanceTasksYieldToQueuedTasks() {
+    expectedSteps = Arrays.asList(1, 2, 3);
+    // Queue everything from the queue to ensure the order in which tasks become runnable.
+    queue.enqueueAndForget(
+        () -> {
+          queue.enqueueAfterDelay(TimerId.INDEX_BACKFILL, 0, runnableForStep(3));
+          queue.enqueueAfterDelay(TIMER_ID_1, 0, runnableForStep(1));
+          queue.enqueueAndForget(runnableForStep(2));
+        });
+
+    waitForExpectedSteps();
+  }
+
+  @Test
+  public void backgroundMaintenanceTasksAreRemovedIfShutdownPreventsTheirYield() {
+    expectedSteps = Arrays.asList(1, 2);
+    boolean[] containsDelayedTask = new boolean[1];
+    queue.enqueueAndForget(
+        () -> {
+          queue.enqueueAfterDelay(TimerId.INDEX_BACKFILL, 0, runnableForStep(3));
+          queue.enqueueAndInitiateShutdown(runnableForStep(1));
+          queue.enqueueAndForgetEvenAfterShutdown(
+              () -> {
+                containsDelayedTask[0] = queue.containsDelayedTask(TimerId.INDEX_BACKFILL);
+                runnableForStep(2).run();
+              });
+        });
+
+    waitForExpectedSteps();
+    assertFalse(containsDelayedTask[0]);
+  }
+
   @Test
   public void canCancelDelayedTasks() {
     expectedSteps = Arrays.asList(1, 3);
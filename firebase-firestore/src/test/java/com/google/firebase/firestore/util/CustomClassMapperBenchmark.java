@@ -0,0 +1,122 @@
+// Copyright 2023 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.firebase.firestore.util;
+
+import com.google.firebase.firestore.testutil.Benchmark;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Benchmarks the conversion between POJOs and plain Java types in {@link CustomClassMapper}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class CustomClassMapperBenchmark {
+
+  private static class Message {
+    public String author;
+    public String text;
+    public long timestamp;
+    public boolean read;
+    public List<String> tags;
+
+    private double score;
+    private Map<String, Long> reactions;
+
+    public double getScore() {
+      return score;
+    }
+
+    public void setScore(double score) {
+      this.score = score;
+    }
+
+    public Map<String, Long> getReactions() {
+      return reactions;
+    }
+
+    public void setReactions(Map<String, Long> reactions) {
+      this.reactions = reactions;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test
+  public void convertToCustomClass() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      List<Map<String, Object>> documents = createDocuments(documentCount);
+      Benchmark.measure(
+          "CustomClassMapper.convertToCustomClass docs=" + documentCount,
+          documentCount,
+          () -> {
+            for (Map<String, Object> document : documents) {
+              CustomClassMapper.convertToCustomClass(document, Message.class, /* docRef= */ null);
+            }
+          });
+    }
+  }
+
+  @Test
+  public void convertToPlainJavaTypes() throws Exception {
+    for (int documentCount : Benchmark.DOCUMENT_COUNTS) {
+      List<Message> messages = new ArrayList<>();
+      for (Map<String, Object> document : createDocuments(documentCount)) {
+        messages.add(
+            CustomClassMapper.convertToCustomClass(document, Message.class, /* docRef= */ null));
+      }
+      Benchmark.measure(
+          "CustomClassMapper.convertToPlainJavaTypes docs=" + documentCount,
+          documentCount,
+          () -> {
+            for (Message message : messages) {
+              CustomClassMapper.convertToPlainJavaTypes(message);
+            }
+          });
+    }
+  }
+
+  private static List<Map<String, Object>> createDocuments(int documentCount) {
+    List<Map<String, Object>> documents = new ArrayList<>();
+    for (int i = 0; i < documentCount; ++i) {
+      Map<String, Long> reactions = new HashMap<>();
+      reactions.put("like", (long) i);
+      reactions.put("laugh", (long) i / 2);
+
+      List<String> tags = new ArrayList<>();
+      tags.add("tag" + i % 10);
+      tags.add("tag" + i % 7);
+
+      Map<String, Object> document = new HashMap<>();
+      document.put("author", "user" + i % 100);
+      document.put("text", "Message number " + i);
+      document.put("timestamp", 1_600_000_000_000L + i);
+      document.put("read", i % 2 == 0);
+      document.put("tags", tags);
+      document.put("score", i / 3.0);
+      document.put("reactions", reactions);
+      documents.add(document);
+    }
+    return documents;
+  }
+}